@@ -0,0 +1,19 @@
+package com.jsako.feign.benchmark;
+
+import feign.Headers;
+import feign.RequestLine;
+
+/**
+ * @Date 2019/6/19
+ * @Author LLJ
+ * @Description 基准测试使用的FeignApi接口
+ */
+public interface BenchmarkApi {
+
+    @RequestLine("POST /echo")
+    @Headers("Content-Type: application/json")
+    Payload echo(Payload payload);
+
+    @RequestLine("GET /retry")
+    String retry();
+}
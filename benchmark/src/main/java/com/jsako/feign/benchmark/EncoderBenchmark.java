@@ -0,0 +1,61 @@
+package com.jsako.feign.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsako.feign.codec.PooledJacksonEncoder;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import feign.jackson.JacksonEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/7/17
+ * @Author LLJ
+ * @Description 请求体编码基准测试，对比JacksonEncoder与PooledJacksonEncoder，通过BenchmarkRunner运行时gc.alloc.rate.norm即每次请求分配字节数
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncoderBenchmark {
+
+    /**
+     * 请求体元素个数，1为小报文，1000约为50KB的大报文
+     */
+    @Param({"1", "100", "1000"})
+    private int payloadItems;
+
+    @Param({"JacksonEncoder", "PooledJacksonEncoder"})
+    private String encoderType;
+
+    private Encoder encoder;
+
+    private Payload payload;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        encoder = "JacksonEncoder".equals(encoderType) ? new JacksonEncoder(objectMapper) : new PooledJacksonEncoder(objectMapper);
+        payload = Payload.of(payloadItems);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        RequestTemplate template = new RequestTemplate();
+        encoder.encode(payload, Payload.class, template);
+        return template.body();
+    }
+}
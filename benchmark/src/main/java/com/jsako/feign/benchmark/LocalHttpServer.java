@@ -0,0 +1,66 @@
+package com.jsako.feign.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @Date 2019/6/19
+ * @Author LLJ
+ * @Description 进程内HTTP服务，作为FeignApi的下游
+ * /echo 原样返回请求体
+ * /retry 固定返回503及Retry-After: 0，触发Feign重试
+ */
+public class LocalHttpServer implements Closeable {
+
+    static {
+        //关闭Nagle算法，避免与客户端delayed ACK叠加产生40ms延迟
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    public LocalHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        server.setExecutor(executor);
+        server.createContext("/echo", this::echo);
+        server.createContext("/retry", this::retry);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        byte[] body = Util.toByteArray(exchange.getRequestBody());
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void retry(HttpExchange exchange) throws IOException {
+        Util.toByteArray(exchange.getRequestBody());
+        exchange.getResponseHeaders().add("Retry-After", "0");
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,50 @@
+package com.jsako.feign.benchmark;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Date 2019/6/19
+ * @Author LLJ
+ * @Description 基准测试请求/响应体
+ */
+@Data
+public class Payload {
+
+    private long id;
+
+    private String name;
+
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+
+        private int index;
+
+        private String value;
+
+        private double score;
+    }
+
+    /**
+     * 生成包含itemCount个元素的请求体
+     */
+    public static Payload of(int itemCount) {
+        Payload payload = new Payload();
+        payload.setId(1L);
+        payload.setName("benchmark");
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item();
+            item.setIndex(i);
+            item.setValue("value-" + i);
+            item.setScore(i * 0.5D);
+            items.add(item);
+        }
+        payload.setItems(items);
+        return payload;
+    }
+}
@@ -0,0 +1,135 @@
+package com.jsako.feign.benchmark;
+
+import com.jsako.feign.manager.FeignManager;
+import com.jsako.feign.scan.ClientEnum;
+import com.jsako.feign.scan.FeignApiAttr;
+import com.jsako.feign.scan.FeignApiFactoryBean;
+import com.jsako.feign.scan.HeaderAttr;
+import com.jsako.feign.scan.LoggerEnum;
+import feign.FeignException;
+import feign.Logger;
+import feign.RequestInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/6/19
+ * @Author LLJ
+ * @Description FeignApi代理调用链路基准测试，覆盖header拦截器、Jackson编解码、重试及日志级别
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyInvocationBenchmark {
+
+    /**
+     * 请求体元素个数，1为小报文，1000约为50KB的大报文
+     */
+    @Param({"1", "1000"})
+    private int payloadItems;
+
+    /**
+     * FeignApi注解中配置的header个数
+     */
+    @Param({"0", "8"})
+    private int headerCount;
+
+    @Param({"NONE", "FULL"})
+    private Logger.Level logLevel;
+
+    @Param({"NoOpLogger", "JavaLogger"})
+    private LoggerEnum loggerType;
+
+    @Param({"Default", "ApacheHttpClient"})
+    private ClientEnum clientType;
+
+    private LocalHttpServer server;
+
+    private FeignManager feignManager;
+
+    private GenericApplicationContext applicationContext;
+
+    private BenchmarkApi api;
+
+    private BenchmarkApi retryApi;
+
+    private Payload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new LocalHttpServer();
+        feignManager = new FeignManager();
+        applicationContext = new GenericApplicationContext();
+        applicationContext.refresh();
+        api = createProxy(FeignManager.DEFAULT_RETRY_TIMES);
+        retryApi = createProxy(2);
+        payload = Payload.of(payloadItems);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        feignManager.destroy();
+        applicationContext.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Payload echo() {
+        return api.echo(payload);
+    }
+
+    @Benchmark
+    public Object retry() {
+        try {
+            return retryApi.retry();
+        } catch (FeignException e) {
+            return e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BenchmarkApi createProxy(int retryTimes) throws Exception {
+        FeignApiAttr attr = new FeignApiAttr();
+        attr.setUrl(server.getUrl());
+        attr.setHeaders(headers());
+        attr.setRequestInterceptors(new Class[0]);
+        attr.setLogLevel(logLevel);
+        attr.setReadTimeout(FeignManager.DEFAULT_READ_TIMEOUT);
+        attr.setRetryTimes(retryTimes);
+        attr.setClientType(clientType);
+
+        FeignApiFactoryBean<BenchmarkApi> factoryBean = new FeignApiFactoryBean<>(BenchmarkApi.class);
+        factoryBean.setFeignApiAttr(attr);
+        factoryBean.setLoggerType(loggerType);
+        factoryBean.setFeignManager(feignManager);
+        factoryBean.setApplicationContext(applicationContext);
+        factoryBean.setEnvironment(applicationContext.getEnvironment());
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    private HeaderAttr[] headers() {
+        HeaderAttr[] headers = new HeaderAttr[headerCount];
+        for (int i = 0; i < headerCount; i++) {
+            headers[i] = new HeaderAttr("X-Benchmark-" + i, "value-" + i);
+        }
+        return headers;
+    }
+}
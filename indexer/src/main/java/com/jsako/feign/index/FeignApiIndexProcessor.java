@@ -0,0 +1,82 @@
+package com.jsako.feign.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @Date 2019/6/21
+ * @Author LLJ
+ * @Description 编译期收集被FeignApi注解的接口，写入 META-INF/feign-api.index，
+ * 启动时FeignApiScan直接读取索引，避免扫描classpath下所有class
+ */
+@SupportedAnnotationTypes(FeignApiIndexProcessor.FEIGN_API_ANNOTATION)
+public class FeignApiIndexProcessor extends AbstractProcessor {
+
+    static final String FEIGN_API_ANNOTATION = "com.jsako.feign.scan.FeignApi";
+
+    static final String INDEX_LOCATION = "META-INF/feign-api.index";
+
+    private final Set<String> feignApis = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.INTERFACE) {
+                    feignApis.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !feignApis.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        Properties properties = new Properties();
+        //增量编译时保留已存在的索引项
+        readExistingIndex(properties);
+        for (String feignApi : feignApis) {
+            properties.setProperty(feignApi, FEIGN_API_ANNOTATION);
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (OutputStream out = file.openOutputStream()) {
+                properties.store(out, null);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "FeignApiIndexProcessor unable to write " + INDEX_LOCATION + ":" + e);
+        }
+    }
+
+    private void readExistingIndex(Properties properties) {
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (InputStream in = file.openInputStream()) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            //索引文件不存在
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.jsako.feign.async;
+
+import feign.FeignException;
+import feign.Response;
+import feign.codec.Decoder;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @Date 2019/6/12
+ * @Author LLJ
+ * @Description 方法返回CompletableFuture&lt;T&gt;时，按T类型解码，其余类型直接交给delegate
+ */
+public class AsyncDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    public AsyncDecoder(Decoder delegate) {
+        Assert.notNull(delegate, "AsyncDecoder delegate could not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        return delegate.decode(response, unwrap(type));
+    }
+
+    /**
+     * 是否为异步返回类型
+     *
+     * @param rawType 方法返回值类型
+     * @return true 是
+     */
+    public static boolean isAsyncType(Class<?> rawType) {
+        return rawType == CompletableFuture.class || rawType == CompletionStage.class;
+    }
+
+    private static Type unwrap(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            if (rawType instanceof Class && isAsyncType((Class<?>) rawType)) {
+                return parameterizedType.getActualTypeArguments()[0];
+            }
+        }
+        return type;
+    }
+}
@@ -0,0 +1,43 @@
+package com.jsako.feign.async;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/6/12
+ * @Author LLJ
+ * @Description 异步FeignApi方法默认线程池配置，对应配置前缀 feign.scan.async
+ */
+@Data
+public class AsyncExecutorProperties {
+
+    /**
+     * 核心线程数，已不再使用，线程数上限由maxSize决定，空闲线程超过keepAliveMillis后回收
+     */
+    @Deprecated
+    private int coreSize = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * 最大线程数，线程全部繁忙后任务才进入队列
+     */
+    private int maxSize = 200;
+
+    /**
+     * 等待队列长度，队列满后拒绝，CompletableFuture以RejectedExecutionException结束
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 线程空闲存活时间
+     */
+    private long keepAliveMillis = 60000L;
+
+    /**
+     * 对冲请求专用线程池最大线程数，达到后放弃对冲
+     */
+    private int hedgeMaxSize = 200;
+
+    /**
+     * 线程名前缀
+     */
+    private String threadNamePrefix = "feign-async-";
+}
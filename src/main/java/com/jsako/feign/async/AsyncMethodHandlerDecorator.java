@@ -0,0 +1,62 @@
+package com.jsako.feign.async;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @Date 2019/6/12
+ * @Author LLJ
+ * @Description 返回CompletableFuture的方法提交到executor中执行，调用线程立即返回
+ * 内层返回CompletionStage(如熔断fallback)时等其完成后再完成future
+ */
+public class AsyncMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final Executor executor;
+
+    public AsyncMethodHandlerDecorator(Executor executor) {
+        Assert.notNull(executor, "AsyncMethodHandlerDecorator executor could not be null");
+        this.executor = executor;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (!AsyncDecoder.isAsyncType(method.getReturnType())) {
+            return handler;
+        }
+        return argv -> {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    try {
+                        Object result = handler.invoke(argv);
+                        if (result instanceof CompletionStage) {
+                            //熔断fallback返回的CompletionStage
+                            ((CompletionStage<?>) result).whenComplete((value, e) -> {
+                                if (e != null) {
+                                    future.completeExceptionally(e);
+                                } else {
+                                    future.complete(value);
+                                }
+                            });
+                        } else {
+                            future.complete(result);
+                        }
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.jsako.feign.async;
+
+import com.jsako.feign.circuit.CallNotPermittedException;
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/6/14
+ * @Author LLJ
+ * @Description 并发闸门，同一FeignApi所有方法共享permits，超过上限的调用等待(虚拟线程中阻塞开销很小)
+ * 同步方法在调用线程(可能是平台线程)中等待，因此最多等待maxWaitMillis，超时抛出CallNotPermittedException
+ */
+public class ConcurrencyGateMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final Semaphore semaphore;
+
+    private final int maxConcurrentCalls;
+
+    private final long maxWaitMillis;
+
+    /**
+     * @param maxConcurrentCalls 最大并发调用数
+     * @param maxWaitMillis      等待permit的最长时间，通常为读超时
+     */
+    public ConcurrencyGateMethodHandlerDecorator(int maxConcurrentCalls, long maxWaitMillis) {
+        Assert.isTrue(maxConcurrentCalls > 0, "ConcurrencyGateMethodHandlerDecorator maxConcurrentCalls must be greater than 0");
+        this.semaphore = new Semaphore(maxConcurrentCalls);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = Math.max(0L, maxWaitMillis);
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        return argv -> {
+            if (!semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new CallNotPermittedException("ConcurrencyGate full,maxConcurrentCalls:" + maxConcurrentCalls
+                        + ",waitMillis:" + maxWaitMillis);
+            }
+            try {
+                return handler.invoke(argv);
+            } finally {
+                semaphore.release();
+            }
+        };
+    }
+
+    /**
+     * 当前可用的permits
+     */
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+}
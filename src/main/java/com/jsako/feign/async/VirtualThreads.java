@@ -0,0 +1,55 @@
+package com.jsako.feign.async;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * @Date 2019/6/14
+ * @Author LLJ
+ * @Description 虚拟线程工具类，通过反射调用JDK21+的Executors.newVirtualThreadPerTaskExecutor，兼容低版本JDK编译
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前JVM是否支持虚拟线程
+     *
+     * @return true 支持
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的ExecutorService
+     *
+     * @return ExecutorService
+     * @throws IllegalStateException 当前JVM不支持虚拟线程
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new IllegalStateException("VirtualThreads newVirtualThreadPerTaskExecutor,virtual threads require JDK 21+,current:" + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("VirtualThreads newVirtualThreadPerTaskExecutor failed", e);
+        }
+    }
+
+    private static Method findFactoryMethod() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            log.debug("VirtualThreads findFactoryMethod,virtual threads are not supported by current JVM");
+            return null;
+        }
+    }
+}
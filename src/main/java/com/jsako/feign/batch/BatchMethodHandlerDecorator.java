@@ -0,0 +1,94 @@
+package com.jsako.feign.batch;
+
+import com.jsako.feign.async.AsyncDecoder;
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.scan.FeignBatch;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * @Date 2019/7/26
+ * @Author LLJ
+ * @Description 开启FeignBatch的方法不直接发起请求，参数交给Batcher合并后调用批量方法
+ * 需位于调用链最外层：批量方法的MethodHandler在decorate时记录，包含内层的重试、熔断、指标等包装；
+ * 返回CompletableFuture的方法直接返回合并结果的future，不占用线程
+ */
+public class BatchMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final BatchRegistry registry;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 所有方法经过本decorator时的MethodHandler，供批量方法查找，生成代理时写入
+     */
+    private final ConcurrentMap<Method, MethodHandler> handlers = new ConcurrentHashMap<>();
+
+    public BatchMethodHandlerDecorator(BatchRegistry registry, Executor executor, ScheduledExecutorService scheduler) {
+        Assert.notNull(registry, "BatchMethodHandlerDecorator registry could not be null");
+        Assert.notNull(executor, "BatchMethodHandlerDecorator executor could not be null");
+        Assert.notNull(scheduler, "BatchMethodHandlerDecorator scheduler could not be null");
+        this.registry = registry;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 获取批量方法，找不到或参数不符合要求时抛出异常
+     */
+    public static Method findBulkMethod(Class<?> targetType, Method method, FeignBatch feignBatch) {
+        Assert.isTrue(method.getParameterCount() == 1, "FeignBatch method must have exactly one parameter:" + method);
+        Method bulkMethod = null;
+        for (Method candidate : targetType.getMethods()) {
+            if (candidate.getName().equals(feignBatch.bulkMethod()) && candidate.getParameterCount() == 1
+                    && Collection.class.isAssignableFrom(candidate.getParameterTypes()[0])) {
+                Assert.isNull(bulkMethod, "FeignBatch bulkMethod is ambiguous:" + feignBatch.bulkMethod());
+                bulkMethod = candidate;
+            }
+        }
+        Assert.notNull(bulkMethod, "FeignBatch bulkMethod not found:" + feignBatch.bulkMethod());
+        Class<?> returnType = bulkMethod.getReturnType();
+        Assert.isTrue(returnType == List.class || returnType == Map.class, "FeignBatch bulkMethod must return List or Map:" + bulkMethod);
+        return bulkMethod;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        handlers.put(method, handler);
+        FeignBatch feignBatch = method.getAnnotation(FeignBatch.class);
+        if (feignBatch == null) {
+            return handler;
+        }
+        Method bulkMethod = findBulkMethod(target.type(), method, feignBatch);
+        boolean setParameter = Set.class.isAssignableFrom(bulkMethod.getParameterTypes()[0]);
+        Batcher batcher = new Batcher(() -> handlers.get(bulkMethod), setParameter, Math.max(1, feignBatch.maxSize()),
+                feignBatch.windowMillis(), executor, scheduler, registry.getOrCreate(target.type(), method));
+        boolean async = AsyncDecoder.isAsyncType(method.getReturnType());
+        return argv -> {
+            CompletableFuture<Object> future = batcher.submit(argv[0]);
+            if (async) {
+                return future;
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
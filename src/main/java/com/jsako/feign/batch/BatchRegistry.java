@@ -0,0 +1,31 @@
+package com.jsako.feign.batch;
+
+import feign.Feign;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/26
+ * @Author LLJ
+ * @Description 批量合并统计注册表，按方法configKey查询
+ */
+public class BatchRegistry {
+
+    private final ConcurrentMap<String, BatchStats> stats = new ConcurrentHashMap<>();
+
+    public BatchStats getOrCreate(Class<?> targetType, Method method) {
+        return stats.computeIfAbsent(Feign.configKey(targetType, method), BatchStats::new);
+    }
+
+    public Map<String, BatchStats.Snapshot> getAllStats() {
+        Map<String, BatchStats.Snapshot> all = new TreeMap<>();
+        for (Map.Entry<String, BatchStats> entry : stats.entrySet()) {
+            all.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return all;
+    }
+}
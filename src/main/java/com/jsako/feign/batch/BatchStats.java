@@ -0,0 +1,101 @@
+package com.jsako.feign.batch;
+
+import lombok.Data;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/26
+ * @Author LLJ
+ * @Description 单个批量合并方法的统计
+ */
+public class BatchStats {
+
+    private final String name;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder items = new LongAdder();
+
+    private final LongAdder sizeFlushes = new LongAdder();
+
+    private final LongAdder windowFlushes = new LongAdder();
+
+    private final LongAdder failedBatches = new LongAdder();
+
+    private final LongAdder bulkNanos = new LongAdder();
+
+    BatchStats(String name) {
+        this.name = name;
+    }
+
+    void onCall() {
+        calls.increment();
+    }
+
+    void onFlush(int size, boolean bySize) {
+        batches.increment();
+        items.add(size);
+        (bySize ? sizeFlushes : windowFlushes).increment();
+    }
+
+    void onBulkComplete(long nanos, boolean success) {
+        bulkNanos.add(nanos);
+        if (!success) {
+            failedBatches.increment();
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setName(name);
+        snapshot.setCalls(calls.sum());
+        snapshot.setBatches(batches.sum());
+        snapshot.setItems(items.sum());
+        snapshot.setMeanBatchSize(snapshot.getBatches() == 0L ? 0.0D : (double) snapshot.getItems() / snapshot.getBatches());
+        snapshot.setSizeFlushes(sizeFlushes.sum());
+        snapshot.setWindowFlushes(windowFlushes.sum());
+        snapshot.setFailedBatches(failedBatches.sum());
+        snapshot.setMeanBulkMillis(snapshot.getBatches() == 0L ? 0.0D : bulkNanos.sum() / 1000000.0D / snapshot.getBatches());
+        return snapshot;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private String name;
+
+        /**
+         * 单条调用次数
+         */
+        private long calls;
+
+        /**
+         * 批量调用次数
+         */
+        private long batches;
+
+        /**
+         * 批量调用中的不同参数个数，相同参数的调用合并为一个
+         */
+        private long items;
+
+        private double meanBatchSize;
+
+        /**
+         * 因达到maxSize发送的批次
+         */
+        private long sizeFlushes;
+
+        /**
+         * 因等待超过windowMillis发送的批次
+         */
+        private long windowFlushes;
+
+        private long failedBatches;
+
+        private double meanBulkMillis;
+    }
+}
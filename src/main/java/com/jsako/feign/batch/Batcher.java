@@ -0,0 +1,154 @@
+package com.jsako.feign.batch;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @Date 2019/7/26
+ * @Author LLJ
+ * @Description 缓冲单条调用的参数，达到maxSize或等待windowMillis后在executor中调用批量方法，并按参数完成各调用方的future
+ */
+@Slf4j
+class Batcher {
+
+    private final Supplier<MethodHandler> bulkHandler;
+
+    private final boolean setParameter;
+
+    private final int maxSize;
+
+    private final long windowMillis;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final BatchStats stats;
+
+    /**
+     * 参数到等待该参数结果的调用方，相同参数只请求一次
+     */
+    private Map<Object, List<CompletableFuture<Object>>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> timer;
+
+    Batcher(Supplier<MethodHandler> bulkHandler, boolean setParameter, int maxSize, long windowMillis,
+            Executor executor, ScheduledExecutorService scheduler, BatchStats stats) {
+        this.bulkHandler = bulkHandler;
+        this.setParameter = setParameter;
+        this.maxSize = maxSize;
+        this.windowMillis = windowMillis;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.stats = stats;
+    }
+
+    CompletableFuture<Object> submit(Object key) {
+        stats.onCall();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Map<Object, List<CompletableFuture<Object>>> full = null;
+        synchronized (this) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            if (pending.size() >= maxSize) {
+                full = drain();
+            } else if (timer == null) {
+                timer = scheduler.schedule(this::flushWindow, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full, true);
+        }
+        return future;
+    }
+
+    private void flushWindow() {
+        Map<Object, List<CompletableFuture<Object>>> batch;
+        synchronized (this) {
+            timer = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        send(batch, false);
+    }
+
+    private Map<Object, List<CompletableFuture<Object>>> drain() {
+        Map<Object, List<CompletableFuture<Object>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void send(Map<Object, List<CompletableFuture<Object>>> batch, boolean bySize) {
+        stats.onFlush(batch.size(), bySize);
+        try {
+            executor.execute(() -> invokeBulk(batch));
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    private void invokeBulk(Map<Object, List<CompletableFuture<Object>>> batch) {
+        Collection<Object> keys = setParameter ? new LinkedHashSet<>(batch.keySet()) : new ArrayList<>(batch.keySet());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = bulkHandler.get().invoke(new Object[]{keys});
+        } catch (Throwable e) {
+            stats.onBulkComplete(System.nanoTime() - start, false);
+            fail(batch, e);
+            return;
+        }
+        stats.onBulkComplete(System.nanoTime() - start, true);
+        if (result instanceof Map) {
+            Map<?, ?> values = (Map<?, ?>) result;
+            for (Map.Entry<Object, List<CompletableFuture<Object>>> entry : batch.entrySet()) {
+                complete(entry.getValue(), values.get(entry.getKey()));
+            }
+            return;
+        }
+        List<?> values = result instanceof List ? (List<?>) result : null;
+        if (values == null || values.size() != batch.size()) {
+            fail(batch, new IllegalStateException("Batcher bulk result size mismatch,expect:" + batch.size()
+                    + ",actual:" + (values == null ? null : values.size())));
+            return;
+        }
+        int i = 0;
+        for (List<CompletableFuture<Object>> futures : batch.values()) {
+            complete(futures, values.get(i++));
+        }
+    }
+
+    private static void complete(List<CompletableFuture<Object>> futures, Object value) {
+        for (CompletableFuture<Object> future : futures) {
+            future.complete(value);
+        }
+    }
+
+    private static void fail(Map<Object, List<CompletableFuture<Object>>> batch, Throwable e) {
+        log.debug("Batcher invokeBulk,bulk call failed,size:{}", batch.size(), e);
+        for (List<CompletableFuture<Object>> futures : batch.values()) {
+            for (CompletableFuture<Object> future : futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.jsako.feign.cache;
+
+import feign.Request;
+import feign.Response;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 缓存的响应，body已完整读入内存
+ */
+class CachedResponse {
+
+    private final int status;
+
+    private final String reason;
+
+    private final Map<String, Collection<String>> headers;
+
+    private final byte[] body;
+
+    private final String etag;
+
+    private final String lastModified;
+
+    /**
+     * 响应Vary中的header在原请求中的值
+     */
+    private final Map<String, String> varyValues;
+
+    private volatile long expiresAtMillis;
+
+    /**
+     * 写入缓存时的请求
+     */
+    private final Request request;
+
+    CachedResponse(int status, String reason, Map<String, Collection<String>> headers, byte[] body,
+                   Map<String, String> varyValues, long expiresAtMillis, Request request) {
+        this.status = status;
+        this.reason = reason;
+        this.headers = headers;
+        this.body = body;
+        this.etag = HttpCacheHeaders.first(headers, HttpCacheHeaders.ETAG);
+        this.lastModified = HttpCacheHeaders.first(headers, HttpCacheHeaders.LAST_MODIFIED);
+        this.varyValues = varyValues;
+        this.expiresAtMillis = expiresAtMillis;
+        this.request = request;
+    }
+
+    /**
+     * 请求中Vary指定的header与缓存时的请求是否一致
+     */
+    boolean matches(Map<String, Collection<String>> requestHeaders) {
+        for (Map.Entry<String, String> entry : varyValues.entrySet()) {
+            if (!Objects.equals(entry.getValue(), HttpCacheHeaders.first(requestHeaders, entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isFresh(long nowMillis) {
+        return nowMillis < expiresAtMillis;
+    }
+
+    boolean hasValidator() {
+        return etag != null || lastModified != null;
+    }
+
+    void refresh(long expiresAtMillis) {
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    String getLastModified() {
+        return lastModified;
+    }
+
+    Request getRequest() {
+        return request;
+    }
+
+    Response toResponse(Request request) {
+        return Response.builder()
+                .status(status)
+                .reason(reason)
+                .headers(headers)
+                .body(body)
+                .request(request)
+                .build();
+    }
+}
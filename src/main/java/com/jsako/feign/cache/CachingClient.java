@@ -0,0 +1,120 @@
+package com.jsako.feign.cache;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 带响应缓存的客户端，只缓存开启FeignCache的方法发出的GET请求
+ * 缓存key包含Accept及Authorization、Cookie的摘要，不同身份的请求不共用缓存；遵循响应的Vary，Cache-Control为private时不缓存
+ * 未过期的缓存通常已由FreshResponseMethodHandlerDecorator在调用链外层返回，这里主要负责过期后的条件请求校验
+ */
+public class CachingClient implements Client {
+
+    private static final String GET = "GET";
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final Client delegate;
+
+    public CachingClient(Client delegate) {
+        Assert.notNull(delegate, "CachingClient delegate could not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        ResponseCacheMethodHandlerDecorator.Invocation invocation = ResponseCacheMethodHandlerDecorator.current();
+        if (invocation == null || !GET.equals(request.method())) {
+            return delegate.execute(request, options);
+        }
+        ResponseCache cache = invocation.getCache();
+        String key = cacheKey(request);
+        invocation.setKey(key);
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.get(key);
+        if (cached != null && !cached.matches(request.headers())) {
+            cached = null;
+        }
+        if (cached != null && cached.isFresh(now)) {
+            cache.recordHit();
+            return cached.toResponse(request);
+        }
+        if (cached != null && cached.hasValidator()) {
+            Response response = delegate.execute(conditional(request, cached), options);
+            if (response.status() == NOT_MODIFIED) {
+                Util.ensureClosed(response);
+                cache.recordRevalidation();
+                long expiresAt = cache.expiresAt(HttpCacheHeaders.maxAgeMillis(response.headers()), now);
+                if (expiresAt < 0) {
+                    cache.remove(key);
+                } else {
+                    cached.refresh(expiresAt);
+                }
+                return cached.toResponse(request);
+            }
+            cache.recordMiss();
+            return store(cache, key, request, response, now);
+        }
+        cache.recordMiss();
+        return store(cache, key, request, delegate.execute(request, options), now);
+    }
+
+    private Response store(ResponseCache cache, String key, Request request, Response response, long now) throws IOException {
+        if (response.status() != 200 || response.body() == null) {
+            return response;
+        }
+        long expiresAt = cache.expiresAt(HttpCacheHeaders.maxAgeMillis(response.headers()), now);
+        Map<String, String> varyValues = HttpCacheHeaders.varyValues(response.headers(), request.headers());
+        if (expiresAt < 0 || varyValues == null) {
+            cache.remove(key);
+            return response;
+        }
+        byte[] body;
+        try {
+            body = Util.toByteArray(response.body().asInputStream());
+        } finally {
+            Util.ensureClosed(response.body());
+        }
+        CachedResponse cached = new CachedResponse(response.status(), response.reason(), response.headers(), body, varyValues, expiresAt, request);
+        //no-cache且无校验头时无法复用
+        if (expiresAt > now || cached.hasValidator()) {
+            cache.put(key, cached);
+        }
+        return cached.toResponse(request);
+    }
+
+    private Request conditional(Request request, CachedResponse cached) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        if (cached.getEtag() != null) {
+            headers.put(HttpCacheHeaders.IF_NONE_MATCH, Collections.singletonList(cached.getEtag()));
+        }
+        if (cached.getLastModified() != null) {
+            headers.put(HttpCacheHeaders.IF_MODIFIED_SINCE, Collections.singletonList(cached.getLastModified()));
+        }
+        return Request.create(request.method(), request.url(), headers, request.body(), request.charset());
+    }
+
+    private String cacheKey(Request request) {
+        StringBuilder key = new StringBuilder(request.url());
+        String accept = HttpCacheHeaders.first(request.headers(), HttpCacheHeaders.ACCEPT);
+        if (accept != null) {
+            key.append('|').append(accept);
+        }
+        String credentials = HttpCacheHeaders.credentialsDigest(request.headers());
+        if (credentials != null) {
+            key.append('|').append(credentials);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.jsako.feign.cache;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.scan.FeignCache;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Response;
+import feign.Target;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 调用参数对应的缓存未过期时直接解码缓存的响应返回，不再经过编码、拦截器、重试、并发闸门及熔断器
+ * 位于熔断器外层，索引由ResponseCacheMethodHandlerDecorator在调用成功后写入；缓存过期后仍走完整调用链，由CachingClient发起条件请求校验
+ * 请求头需由调用参数及配置唯一确定，FeignApi配置了自定义拦截器时不使用
+ */
+public class FreshResponseMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final ResponseCacheRegistry registry;
+
+    private final Decoder decoder;
+
+    public FreshResponseMethodHandlerDecorator(ResponseCacheRegistry registry, Decoder decoder) {
+        Assert.notNull(registry, "FreshResponseMethodHandlerDecorator registry could not be null");
+        Assert.notNull(decoder, "FreshResponseMethodHandlerDecorator decoder could not be null");
+        this.registry = registry;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        FeignCache feignCache = ResponseCacheMethodHandlerDecorator.findFeignCache(target.type(), method);
+        if (feignCache == null) {
+            return handler;
+        }
+        ResponseCache cache = registry.getOrCreate(target.type(), method, feignCache.ttlMillis(), feignCache.maxSize());
+        Type returnType = method.getGenericReturnType();
+        return argv -> {
+            List<Object> arguments = ResponseCacheMethodHandlerDecorator.arguments(argv);
+            CachedResponse cached = arguments == null ? null : cache.getFresh(arguments, System.currentTimeMillis());
+            if (cached == null) {
+                return handler.invoke(argv);
+            }
+            cache.recordHit();
+            Response response = cached.toResponse(cached.getRequest());
+            if (Response.class == returnType) {
+                return response;
+            }
+            try {
+                return decoder.decode(response, returnType);
+            } catch (IOException e) {
+                throw new DecodeException(e.getMessage(), e);
+            }
+        };
+    }
+}
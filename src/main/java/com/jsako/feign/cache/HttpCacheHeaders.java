@@ -0,0 +1,145 @@
+package com.jsako.feign.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description HTTP缓存相关header解析
+ */
+final class HttpCacheHeaders {
+
+    static final String CACHE_CONTROL = "Cache-Control";
+
+    static final String ETAG = "ETag";
+
+    static final String LAST_MODIFIED = "Last-Modified";
+
+    static final String IF_NONE_MATCH = "If-None-Match";
+
+    static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    static final String ACCEPT = "Accept";
+
+    static final String AUTHORIZATION = "Authorization";
+
+    static final String COOKIE = "Cookie";
+
+    static final String VARY = "Vary";
+
+    /**
+     * Vary: *，每个请求都视为不同，不缓存
+     */
+    static final String VARY_ANY = "*";
+
+    /**
+     * 不缓存
+     */
+    static final long NO_STORE = -1L;
+
+    /**
+     * 未指定max-age
+     */
+    static final long UNSPECIFIED = -2L;
+
+    private HttpCacheHeaders() {
+    }
+
+    /**
+     * 忽略大小写获取header的第一个值
+     */
+    static String first(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+                return entry.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析Cache-Control
+     *
+     * @return 可缓存的毫秒数；no-store、private返回NO_STORE；no-cache返回0；未指定max-age返回UNSPECIFIED
+     */
+    static long maxAgeMillis(Map<String, Collection<String>> headers) {
+        String cacheControl = first(headers, CACHE_CONTROL);
+        if (cacheControl == null) {
+            return UNSPECIFIED;
+        }
+        long maxAge = UNSPECIFIED;
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase();
+            if (value.equals("no-store") || value.equals("private") || value.startsWith("private=")) {
+                return NO_STORE;
+            }
+            if (value.equals("no-cache")) {
+                maxAge = 0L;
+            } else if (value.startsWith("max-age=") && maxAge != 0L) {
+                try {
+                    maxAge = Math.max(0L, Long.parseLong(value.substring("max-age=".length()).trim())) * 1000L;
+                } catch (NumberFormatException e) {
+                    maxAge = 0L;
+                }
+            }
+        }
+        return maxAge;
+    }
+
+    /**
+     * 请求携带的身份信息(Authorization、Cookie)摘要，作为缓存key的一部分，不同身份的请求不共用缓存
+     *
+     * @return SHA-256十六进制摘要，未携带时返回null
+     */
+    static String credentialsDigest(Map<String, Collection<String>> headers) {
+        String authorization = first(headers, AUTHORIZATION);
+        String cookie = first(headers, COOKIE);
+        if (authorization == null && cookie == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(authorization).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(String.valueOf(cookie).getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("HttpCacheHeaders SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * 按响应的Vary记录请求中对应header的值
+     *
+     * @return header名到请求值的映射，无Vary时为空；Vary为*时返回null表示不可缓存
+     */
+    static Map<String, String> varyValues(Map<String, Collection<String>> responseHeaders, Map<String, Collection<String>> requestHeaders) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Collection<String>> entry : responseHeaders.entrySet()) {
+            if (!VARY.equalsIgnoreCase(entry.getKey())) {
+                continue;
+            }
+            for (String vary : entry.getValue()) {
+                for (String name : vary.split(",")) {
+                    String header = name.trim();
+                    if (VARY_ANY.equals(header)) {
+                        return null;
+                    }
+                    if (!header.isEmpty()) {
+                        values.put(header, first(requestHeaders, header));
+                    }
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,157 @@
+package com.jsako.feign.cache;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 单个FeignApi方法的响应缓存，按请求url及Accept缓存，LRU淘汰
+ */
+public class ResponseCache {
+
+    private final String configKey;
+
+    private final long ttlMillis;
+
+    private final int maxSize;
+
+    private final Map<String, CachedResponse> entries;
+
+    /**
+     * 调用参数到缓存key的索引，LRU淘汰
+     */
+    private final Map<List<Object>, String> invocations;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder revalidations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(String configKey, long ttlMillis, int maxSize) {
+        this.configKey = configKey;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                boolean evict = size() > ResponseCache.this.maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+        this.invocations = new LinkedHashMap<List<Object>, String>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+                return size() > ResponseCache.this.maxSize;
+            }
+        };
+    }
+
+    synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    synchronized void index(List<Object> arguments, String key) {
+        invocations.put(arguments, key);
+    }
+
+    /**
+     * 按调用参数查找未过期的缓存
+     *
+     * @return CachedResponse，未建立索引、已淘汰或已过期时返回null
+     */
+    synchronized CachedResponse getFresh(List<Object> arguments, long nowMillis) {
+        String key = invocations.get(arguments);
+        if (key == null) {
+            return null;
+        }
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            invocations.remove(arguments);
+            return null;
+        }
+        return cached.isFresh(nowMillis) ? cached : null;
+    }
+
+    /**
+     * 根据Cache-Control计算过期时间
+     *
+     * @return 过期时间点；不可缓存返回-1
+     */
+    long expiresAt(long maxAgeMillis, long nowMillis) {
+        if (maxAgeMillis == HttpCacheHeaders.NO_STORE) {
+            return -1L;
+        }
+        return nowMillis + (maxAgeMillis == HttpCacheHeaders.UNSPECIFIED ? ttlMillis : maxAgeMillis);
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        invocations.clear();
+    }
+
+    /**
+     * 缓存统计
+     */
+    public Stats stats() {
+        Stats stats = new Stats();
+        stats.setConfigKey(configKey);
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setRevalidations(revalidations.sum());
+        stats.setEvictions(evictions.sum());
+        synchronized (this) {
+            stats.setSize(entries.size());
+        }
+        return stats;
+    }
+
+    @Data
+    public static class Stats {
+
+        private String configKey;
+
+        private long hits;
+
+        private long misses;
+
+        /**
+         * 条件请求返回304，继续使用缓存的次数
+         */
+        private long revalidations;
+
+        private long evictions;
+
+        private int size;
+    }
+}
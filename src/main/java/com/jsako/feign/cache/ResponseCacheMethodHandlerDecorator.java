@@ -0,0 +1,101 @@
+package com.jsako.feign.cache;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.scan.FeignCache;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 开启FeignCache的方法在调用期间暴露其响应缓存，供CachingClient使用
+ * 位于调用链最内层，与CachingClient在同一线程中执行；调用成功后记录调用参数对应的缓存key，供FreshResponseMethodHandlerDecorator查找
+ */
+public class ResponseCacheMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private static final ThreadLocal<Invocation> CURRENT = new ThreadLocal<>();
+
+    private final ResponseCacheRegistry registry;
+
+    public ResponseCacheMethodHandlerDecorator(ResponseCacheRegistry registry) {
+        Assert.notNull(registry, "ResponseCacheMethodHandlerDecorator registry could not be null");
+        this.registry = registry;
+    }
+
+    static Invocation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 调用参数作为索引key，包含数组参数时返回null，数组按引用比较且可能被调用方修改
+     */
+    static List<Object> arguments(Object[] argv) {
+        if (argv == null || argv.length == 0) {
+            return Collections.emptyList();
+        }
+        for (Object arg : argv) {
+            if (arg != null && arg.getClass().isArray()) {
+                return null;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(argv.clone()));
+    }
+
+    /**
+     * 获取方法生效的FeignCache配置，方法上的优先于接口上的
+     *
+     * @return FeignCache，未开启时返回null
+     */
+    public static FeignCache findFeignCache(Class<?> targetType, Method method) {
+        FeignCache feignCache = method.getAnnotation(FeignCache.class);
+        return feignCache != null ? feignCache : targetType.getAnnotation(FeignCache.class);
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        FeignCache feignCache = findFeignCache(target.type(), method);
+        if (feignCache == null) {
+            return handler;
+        }
+        ResponseCache cache = registry.getOrCreate(target.type(), method, feignCache.ttlMillis(), feignCache.maxSize());
+        return argv -> {
+            Invocation previous = CURRENT.get();
+            Invocation invocation = new Invocation(cache);
+            CURRENT.set(invocation);
+            try {
+                Object result = handler.invoke(argv);
+                List<Object> arguments = arguments(argv);
+                if (invocation.getKey() != null && arguments != null) {
+                    cache.index(arguments, invocation.getKey());
+                }
+                return result;
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * 一次调用使用的响应缓存，及CachingClient最后一次请求的缓存key
+     */
+    @Getter
+    static class Invocation {
+
+        private final ResponseCache cache;
+
+        @Setter
+        private String key;
+
+        Invocation(ResponseCache cache) {
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jsako.feign.cache;
+
+import feign.Feign;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 响应缓存注册表，按方法configKey查询缓存统计
+ */
+public class ResponseCacheRegistry {
+
+    private final ConcurrentMap<String, ResponseCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建方法的响应缓存，在生成代理时调用
+     */
+    public ResponseCache getOrCreate(Class<?> targetType, Method method, long ttlMillis, int maxSize) {
+        String configKey = Feign.configKey(targetType, method);
+        return caches.computeIfAbsent(configKey, key -> new ResponseCache(key, ttlMillis, maxSize));
+    }
+
+    /**
+     * @param configKey 方法configKey
+     * @return ResponseCache，不存在时返回null
+     */
+    public ResponseCache get(String configKey) {
+        return caches.get(configKey);
+    }
+
+    /**
+     * 所有响应缓存的统计信息，key为方法configKey
+     */
+    public Map<String, ResponseCache.Stats> getAllStats() {
+        Map<String, ResponseCache.Stats> all = new TreeMap<>();
+        for (Map.Entry<String, ResponseCache> entry : caches.entrySet()) {
+            all.put(entry.getKey(), entry.getValue().stats());
+        }
+        return all;
+    }
+}
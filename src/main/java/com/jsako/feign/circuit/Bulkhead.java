@@ -0,0 +1,70 @@
+package com.jsako.feign.circuit;
+
+import lombok.Data;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 信号量隔离舱，限制单个FeignApi接口的并发调用数，避免一个下游占满调用方线程
+ */
+public class Bulkhead {
+
+    private final String name;
+
+    private final int maxCalls;
+
+    private final long maxWaitMillis;
+
+    private final Semaphore semaphore;
+
+    private final LongAdder rejected = new LongAdder();
+
+    Bulkhead(String name, int maxCalls, long maxWaitMillis) {
+        this.name = name;
+        this.maxCalls = maxCalls;
+        this.maxWaitMillis = maxWaitMillis;
+        this.semaphore = new Semaphore(maxCalls);
+    }
+
+    /**
+     * 获取许可，最多等待maxWaitMillis
+     *
+     * @return false 隔离舱已满
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        boolean acquired = maxWaitMillis <= 0L ? semaphore.tryAcquire() : semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        if (!acquired) {
+            rejected.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public Stats stats() {
+        Stats stats = new Stats();
+        stats.setName(name);
+        stats.setMaxCalls(maxCalls);
+        stats.setAvailable(semaphore.availablePermits());
+        stats.setRejected(rejected.sum());
+        return stats;
+    }
+
+    @Data
+    public static class Stats {
+
+        private String name;
+
+        private int maxCalls;
+
+        private int available;
+
+        private long rejected;
+    }
+}
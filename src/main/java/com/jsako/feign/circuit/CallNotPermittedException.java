@@ -0,0 +1,13 @@
+package com.jsako.feign.circuit;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 熔断器打开、隔离舱或并发闸门已满，请求未发出被直接拒绝，不记录调用栈
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,230 @@
+package com.jsako.feign.circuit;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 基于最近N次调用的失败率及慢调用率的熔断器
+ * 关闭状态下失败率或慢调用率达到阈值时打开，打开期间调用直接拒绝，openMillis后进入半开状态放行halfOpenCalls次试探调用
+ * 关闭状态判断许可只读取volatile状态，记录结果时短暂加锁
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+
+    private final CircuitBreakerSettings settings;
+
+    private final int minimumCalls;
+
+    private final int halfOpenCalls;
+
+    private final List<CircuitBreakerListener> listeners;
+
+    private volatile State state = State.CLOSED;
+
+    private volatile long openedAt;
+
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+
+    /**
+     * 环形缓冲区，记录最近调用是否失败、是否慢调用
+     */
+    private final boolean[] failures;
+
+    private final boolean[] slowCalls;
+
+    private int position;
+
+    private int bufferedCalls;
+
+    private int failedCalls;
+
+    private int slowCallCount;
+
+    private final LongAdder notPermitted = new LongAdder();
+
+    private final LongAdder transitions = new LongAdder();
+
+    CircuitBreaker(String name, CircuitBreakerSettings settings, CircuitBreakerProperties properties, List<CircuitBreakerListener> listeners) {
+        this.name = name;
+        this.settings = settings;
+        this.minimumCalls = Math.max(1, Math.min(properties.getMinimumCalls(), settings.getSlidingWindowSize()));
+        this.halfOpenCalls = Math.max(1, properties.getHalfOpenCalls());
+        this.listeners = listeners;
+        this.failures = new boolean[settings.getSlidingWindowSize()];
+        this.slowCalls = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    /**
+     * 获取调用许可
+     *
+     * @return false 熔断器打开或半开状态试探调用已用完
+     */
+    public boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < settings.getOpenMillis()) {
+                notPermitted.increment();
+                return false;
+            }
+            transition(State.OPEN, State.HALF_OPEN);
+        }
+        for (; ; ) {
+            int permits = halfOpenPermits.get();
+            if (state != State.HALF_OPEN || permits <= 0) {
+                notPermitted.increment();
+                return false;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 放弃已获取的许可且不记录结果，用于调用在本地被拒绝、未到达服务端的情况，半开状态下归还试探调用许可
+     */
+    public void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits.updateAndGet(permits -> Math.min(halfOpenCalls, permits + 1));
+        }
+    }
+
+    /**
+     * 记录调用结果，需在tryAcquirePermission返回true后调用
+     *
+     * @param durationMillis 调用耗时
+     * @param failure        是否失败
+     */
+    public void onResult(long durationMillis, boolean failure) {
+        boolean slow = durationMillis >= settings.getSlowCallMillis();
+        State target = null;
+        State from;
+        synchronized (this) {
+            from = state;
+            if (from == State.OPEN) {
+                //打开前已发出的调用，结果不再统计
+                return;
+            }
+            record(failure, slow);
+            int required = from == State.HALF_OPEN ? halfOpenCalls : minimumCalls;
+            if (bufferedCalls >= required) {
+                if (exceedsThreshold()) {
+                    target = State.OPEN;
+                } else if (from == State.HALF_OPEN) {
+                    target = State.CLOSED;
+                }
+            }
+        }
+        if (target != null) {
+            transition(from, target);
+        }
+    }
+
+    private void record(boolean failure, boolean slow) {
+        if (bufferedCalls == failures.length) {
+            failedCalls -= failures[position] ? 1 : 0;
+            slowCallCount -= slowCalls[position] ? 1 : 0;
+        } else {
+            bufferedCalls++;
+        }
+        failures[position] = failure;
+        slowCalls[position] = slow;
+        failedCalls += failure ? 1 : 0;
+        slowCallCount += slow ? 1 : 0;
+        position = (position + 1) % failures.length;
+    }
+
+    private boolean exceedsThreshold() {
+        return failedCalls * 100 >= settings.getFailureRateThreshold() * bufferedCalls
+                || slowCallCount * 100 >= settings.getSlowCallRateThreshold() * bufferedCalls;
+    }
+
+    private void transition(State from, State to) {
+        synchronized (this) {
+            if (state != from) {
+                return;
+            }
+            position = 0;
+            bufferedCalls = 0;
+            failedCalls = 0;
+            slowCallCount = 0;
+            if (to == State.OPEN) {
+                openedAt = System.currentTimeMillis();
+            } else if (to == State.HALF_OPEN) {
+                halfOpenPermits.set(halfOpenCalls);
+            }
+            state = to;
+        }
+        transitions.increment();
+        log.warn("CircuitBreaker transition,name:{},from:{},to:{}", name, from, to);
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateTransition(name, from, to);
+            } catch (RuntimeException e) {
+                log.error("CircuitBreaker transition,listener error,name:{}", name, e);
+            }
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized Stats stats() {
+        Stats stats = new Stats();
+        stats.setName(name);
+        stats.setState(state);
+        stats.setBufferedCalls(bufferedCalls);
+        stats.setFailureRate(bufferedCalls == 0 ? 0.0D : failedCalls * 100.0D / bufferedCalls);
+        stats.setSlowCallRate(bufferedCalls == 0 ? 0.0D : slowCallCount * 100.0D / bufferedCalls);
+        stats.setNotPermitted(notPermitted.sum());
+        stats.setTransitions(transitions.sum());
+        return stats;
+    }
+
+    @Data
+    public static class Stats {
+
+        private String name;
+
+        private State state;
+
+        private int bufferedCalls;
+
+        /**
+         * 窗口内失败率，百分比
+         */
+        private double failureRate;
+
+        /**
+         * 窗口内慢调用率，百分比
+         */
+        private double slowCallRate;
+
+        /**
+         * 被拒绝的调用数
+         */
+        private long notPermitted;
+
+        private long transitions;
+    }
+}
@@ -0,0 +1,18 @@
+package com.jsako.feign.circuit;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 熔断器状态变化监听器，在发生状态变化的调用线程中同步回调，实现不应阻塞
+ */
+public interface CircuitBreakerListener {
+
+    /**
+     * 状态变化
+     *
+     * @param name FeignApi接口名
+     * @param from 原状态
+     * @param to   新状态
+     */
+    void onStateTransition(String name, CircuitBreaker.State from, CircuitBreaker.State to);
+}
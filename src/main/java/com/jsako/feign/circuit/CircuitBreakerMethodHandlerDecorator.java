@@ -0,0 +1,94 @@
+package com.jsako.feign.circuit;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.limit.ConcurrencyLimitExceededException;
+import com.jsako.feign.ratelimit.RateLimitExceededException;
+import feign.FeignException;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 调用前获取隔离舱及熔断器许可，获取失败时调用fallback或抛出CallNotPermittedException，调用后记录结果
+ * 4xx响应属于调用方错误，不计为失败；限流、并发限制等本地拒绝不记录结果
+ */
+public class CircuitBreakerMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final Supplier<Object> fallback;
+
+    /**
+     * @param circuitBreaker 熔断器，为null时不熔断
+     * @param bulkhead       隔离舱，为null时不限制并发
+     * @param fallback       拒绝时调用的实现了FeignApi接口的对象，为null时抛出CallNotPermittedException
+     */
+    public CircuitBreakerMethodHandlerDecorator(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Supplier<Object> fallback) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        return argv -> {
+            if (bulkhead != null && !bulkhead.tryAcquire()) {
+                return reject(method, argv, "bulkhead full");
+            }
+            try {
+                if (circuitBreaker == null) {
+                    return handler.invoke(argv);
+                }
+                if (!circuitBreaker.tryAcquirePermission()) {
+                    return reject(method, argv, "circuit breaker " + circuitBreaker.getState());
+                }
+                long start = System.nanoTime();
+                boolean failure = true;
+                boolean rejected = false;
+                try {
+                    Object result = handler.invoke(argv);
+                    failure = false;
+                    return result;
+                } catch (FeignException e) {
+                    failure = e.status() < 400 || e.status() >= 500;
+                    throw e;
+                } catch (CallNotPermittedException | RateLimitExceededException | ConcurrencyLimitExceededException e) {
+                    //本地拒绝，请求未到达服务端，不记录结果
+                    rejected = true;
+                    throw e;
+                } finally {
+                    if (rejected) {
+                        circuitBreaker.releasePermission();
+                    } else {
+                        circuitBreaker.onResult((System.nanoTime() - start) / 1000000L, failure);
+                    }
+                }
+            } finally {
+                if (bulkhead != null) {
+                    bulkhead.release();
+                }
+            }
+        };
+    }
+
+    private Object reject(Method method, Object[] argv, String reason) throws Throwable {
+        if (fallback == null) {
+            throw new CallNotPermittedException("CallNotPermittedException method:" + method.getName() + "," + reason);
+        }
+        Object result;
+        try {
+            result = method.invoke(fallback.get(), argv);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        //异步方法直接返回fallback的CompletionStage，由AsyncMethodHandlerDecorator衔接，不阻塞等待
+        return result;
+    }
+}
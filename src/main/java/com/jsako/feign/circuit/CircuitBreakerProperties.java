@@ -0,0 +1,22 @@
+package com.jsako.feign.circuit;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 熔断器全局配置，对应配置前缀 feign.scan.circuit-breaker
+ */
+@Data
+public class CircuitBreakerProperties {
+
+    /**
+     * 滑动窗口内至少记录多少次调用后才计算失败率，不超过窗口大小
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * 半开状态允许通过的试探调用数，全部完成后根据失败率决定关闭或重新打开
+     */
+    private int halfOpenCalls = 5;
+}
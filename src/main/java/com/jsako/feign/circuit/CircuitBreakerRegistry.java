@@ -0,0 +1,71 @@
+package com.jsako.feign.circuit;
+
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 熔断器及隔离舱注册表，按FeignApi接口名查询状态，可注册状态变化监听器
+ */
+public class CircuitBreakerRegistry {
+
+    private final CircuitBreakerProperties properties;
+
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(CircuitBreakerProperties properties) {
+        Assert.notNull(properties, "CircuitBreakerRegistry properties could not be null");
+        this.properties = properties;
+    }
+
+    public CircuitBreaker getOrCreate(String name, CircuitBreakerSettings settings) {
+        return circuitBreakers.computeIfAbsent(name, key -> new CircuitBreaker(key, settings, properties, listeners));
+    }
+
+    public Bulkhead getOrCreateBulkhead(String name, int maxCalls, long maxWaitMillis) {
+        return bulkheads.computeIfAbsent(name, key -> new Bulkhead(key, maxCalls, maxWaitMillis));
+    }
+
+    /**
+     * 注册状态变化监听器，对所有熔断器生效
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        Assert.notNull(listener, "CircuitBreakerRegistry listener could not be null");
+        listeners.add(listener);
+    }
+
+    /**
+     * @param name FeignApi接口名
+     * @return CircuitBreaker，不存在时返回null
+     */
+    public CircuitBreaker get(String name) {
+        return circuitBreakers.get(name);
+    }
+
+    public Map<String, CircuitBreaker.Stats> getAllStats() {
+        Map<String, CircuitBreaker.Stats> all = new TreeMap<>();
+        for (Map.Entry<String, CircuitBreaker> entry : circuitBreakers.entrySet()) {
+            all.put(entry.getKey(), entry.getValue().stats());
+        }
+        return all;
+    }
+
+    public Map<String, Bulkhead.Stats> getAllBulkheadStats() {
+        Map<String, Bulkhead.Stats> all = new TreeMap<>();
+        for (Map.Entry<String, Bulkhead> entry : bulkheads.entrySet()) {
+            all.put(entry.getKey(), entry.getValue().stats());
+        }
+        return all;
+    }
+}
@@ -0,0 +1,47 @@
+package com.jsako.feign.circuit;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/7/12
+ * @Author LLJ
+ * @Description 单个FeignApi接口的熔断配置，由FeignApi注解属性构建
+ */
+@Data
+public class CircuitBreakerSettings {
+
+    public static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+
+    public static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+
+    public static final long DEFAULT_SLOW_CALL_MILLIS = 5000L;
+
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+
+    public static final long DEFAULT_OPEN_MILLIS = 30000L;
+
+    /**
+     * 失败率阈值，百分比
+     */
+    private int failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * 慢调用率阈值，百分比，100表示只有全部调用都慢时才熔断
+     */
+    private int slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    /**
+     * 耗时超过该值的调用记为慢调用
+     */
+    private long slowCallMillis = DEFAULT_SLOW_CALL_MILLIS;
+
+    /**
+     * 滑动窗口大小，按最近调用次数统计
+     */
+    private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+
+    /**
+     * 打开状态持续时间，之后进入半开状态
+     */
+    private long openMillis = DEFAULT_OPEN_MILLIS;
+}
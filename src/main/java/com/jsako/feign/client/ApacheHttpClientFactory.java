@@ -0,0 +1,129 @@
+package com.jsako.feign.client;
+
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/6/10
+ * @Author LLJ
+ * @Description 创建基于连接池的ApacheHttpClient，所有FeignApi共享同一个连接池，连接池内部按host(route)划分
+ */
+@Slf4j
+public class ApacheHttpClientFactory implements Closeable {
+
+    private final ClientPoolProperties poolProperties;
+
+    /**
+     * DNS缓存，为null时使用JVM默认解析
+     */
+    private final DnsCache dnsCache;
+
+    private volatile CloseableHttpClient httpClient;
+
+    private volatile Client client;
+
+    public ApacheHttpClientFactory(ClientPoolProperties poolProperties) {
+        this(poolProperties, null);
+    }
+
+    public ApacheHttpClientFactory(ClientPoolProperties poolProperties, DnsCache dnsCache) {
+        Assert.notNull(poolProperties, "ApacheHttpClientFactory poolProperties could not be null");
+        this.poolProperties = poolProperties;
+        this.dnsCache = dnsCache;
+    }
+
+    /**
+     * 获取共享的Feign客户端，首次调用时创建连接池
+     *
+     * @return Client
+     */
+    public Client getClient() {
+        if (client == null) {
+            synchronized (this) {
+                if (client == null) {
+                    httpClient = buildHttpClient();
+                    client = new ApacheHttpClient(httpClient);
+                }
+            }
+        }
+        return client;
+    }
+
+    private CloseableHttpClient buildHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = dnsCache == null ? new PoolingHttpClientConnectionManager() :
+                new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                        .build(), dnsCache::resolve);
+        connectionManager.setMaxTotal(poolProperties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(poolProperties.getMaxPerHost());
+        for (Map.Entry<String, Integer> entry : poolProperties.getHostMaxConnections().entrySet()) {
+            connectionManager.setMaxPerRoute(route(entry.getKey()), entry.getValue());
+        }
+        log.debug("ApacheHttpClientFactory buildHttpClient,maxTotal:{},maxPerHost:{},hostMaxConnections:{}",
+                poolProperties.getMaxTotal(), poolProperties.getMaxPerHost(), poolProperties.getHostMaxConnections());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .evictExpiredConnections()
+                //压缩由FeignApi按需开启，见CompressingClient
+                .disableContentCompression()
+                .evictIdleConnections(poolProperties.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 按DefaultRoutePlanner的方式由scheme://host[:port]构建直连route，未指定端口时使用scheme默认端口，https为安全route
+     */
+    static HttpRoute route(String key) {
+        HttpHost host = HttpHost.create(key.trim());
+        int port;
+        try {
+            port = DefaultSchemePortResolver.INSTANCE.resolve(host);
+        } catch (UnsupportedSchemeException e) {
+            throw new IllegalArgumentException("ApacheHttpClientFactory hostMaxConnections key has unsupported scheme:" + key, e);
+        }
+        String scheme = host.getSchemeName();
+        return new HttpRoute(new HttpHost(host.getHostName(), port, scheme), null, "https".equalsIgnoreCase(scheme));
+    }
+
+    /**
+     * 优先使用服务端返回的Keep-Alive时间，未返回时使用配置的keepAliveMillis
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        long keepAliveMillis = poolProperties.getKeepAliveMillis();
+        return (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? duration : keepAliveMillis;
+        };
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+            httpClient = null;
+            client = null;
+        }
+    }
+}
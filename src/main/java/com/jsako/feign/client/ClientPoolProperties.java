@@ -0,0 +1,62 @@
+package com.jsako.feign.client;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Date 2019/6/10
+ * @Author LLJ
+ * @Description 连接池配置，对应配置前缀 feign.scan.pool
+ */
+@Data
+public class ClientPoolProperties {
+
+    /**
+     * 默认连接池最大连接数
+     */
+    public static final int DEFAULT_MAX_TOTAL = 200;
+
+    /**
+     * 默认每个host最大连接数
+     */
+    public static final int DEFAULT_MAX_PER_HOST = 50;
+
+    /**
+     * 默认keep-alive时间
+     */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30000L;
+
+    /**
+     * 默认空闲连接回收时间
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60000L;
+
+    /**
+     * 连接池最大连接数
+     */
+    private int maxTotal = DEFAULT_MAX_TOTAL;
+
+    /**
+     * 每个host最大连接数
+     */
+    private int maxPerHost = DEFAULT_MAX_PER_HOST;
+
+    /**
+     * 单独指定某些host的最大连接数，key为scheme://host[:port]，省略scheme时为http，省略端口时为scheme默认端口
+     * 配置文件中key需使用方括号，如 feign.scan.pool.host-max-connections[https://api.example.com]=100
+     */
+    private Map<String, Integer> hostMaxConnections = new HashMap<>();
+
+    /**
+     * 服务端未返回Keep-Alive头时，连接保持的时间
+     */
+    private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+
+    /**
+     * 连接空闲超过该时间后被后台线程回收
+     */
+    private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+}
@@ -0,0 +1,77 @@
+package com.jsako.feign.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/8/5
+ * @Author LLJ
+ * @Description 按host缓存DNS解析结果，供ApacheHttpClient(DnsResolver)及OkHttp(Dns)使用
+ * 过期后由下一次请求重新解析，解析失败时继续使用过期结果，避免DNS抖动导致请求失败
+ */
+@Slf4j
+public class DnsCache {
+
+    private final long ttlMillis;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public DnsCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 解析host，缓存未过期时直接返回
+     *
+     * @param host 主机名
+     * @return 地址列表
+     * @throws UnknownHostException 解析失败且没有缓存结果
+     */
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(host);
+        if (entry != null && now < entry.expireAt) {
+            return entry.addresses.clone();
+        }
+        try {
+            InetAddress[] addresses = InetAddress.getAllByName(host);
+            entries.put(host, new Entry(addresses, now + ttlMillis));
+            return addresses.clone();
+        } catch (UnknownHostException e) {
+            if (entry == null) {
+                throw e;
+            }
+            log.warn("DnsCache resolve,lookup failed and stale addresses are used,host:{},msg:{}", host, e.getMessage());
+            return entry.addresses.clone();
+        }
+    }
+
+    /**
+     * OkHttp Dns接口形式的解析
+     */
+    public List<InetAddress> lookup(String host) throws UnknownHostException {
+        return Arrays.asList(resolve(host));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+
+        private final InetAddress[] addresses;
+
+        private final long expireAt;
+
+        private Entry(InetAddress[] addresses, long expireAt) {
+            this.addresses = addresses;
+            this.expireAt = expireAt;
+        }
+    }
+}
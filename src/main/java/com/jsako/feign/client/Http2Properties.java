@@ -0,0 +1,41 @@
+package com.jsako.feign.client;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Date 2019/7/24
+ * @Author LLJ
+ * @Description HTTP/2客户端配置，对应配置前缀 feign.scan.http2
+ */
+@Data
+public class Http2Properties {
+
+    /**
+     * 每个host同时进行的最大请求(stream)数，超过时等待
+     */
+    private int maxConcurrentStreams = 100;
+
+    /**
+     * 单独指定某些host的最大并发stream数，key为scheme://host:port
+     */
+    private Map<String, Integer> hostMaxConcurrentStreams = new HashMap<>();
+
+    /**
+     * 连接池保留的最大空闲连接数，HTTP/2下每个host通常只需一个连接
+     */
+    private int maxIdleConnections = 5;
+
+    /**
+     * 空闲连接保持时间
+     */
+    private long keepAliveMillis = 300000L;
+
+    /**
+     * 明文(http://)下是否直接使用HTTP/2(h2c prior knowledge)，开启后明文下游必须支持HTTP/2，不再回退HTTP/1.1；
+     * https始终通过ALPN协商HTTP/2，不支持时回退HTTP/1.1；关闭时http使用HTTP/1.1
+     */
+    private boolean priorKnowledge = false;
+}
@@ -0,0 +1,94 @@
+package com.jsako.feign.client;
+
+import feign.Client;
+import feign.okhttp.OkHttpClient;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Protocol;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/7/24
+ * @Author LLJ
+ * @Description 创建支持HTTP/2的OkHttp客户端，所有FeignApi共享连接池，同一host的并发请求复用同一连接上的多个stream
+ * https通过ALPN协商HTTP/2，下游不支持时回退HTTP/1.1；开启priorKnowledge时http请求使用另一个h2c客户端，两者共享连接池及Dispatcher
+ */
+@Slf4j
+public class OkHttpClientFactory implements Closeable {
+
+    private static final String HTTP_SCHEME = "http:";
+
+    private final Http2Properties properties;
+
+    /**
+     * DNS缓存，为null时使用JVM默认解析
+     */
+    private final DnsCache dnsCache;
+
+    private volatile okhttp3.OkHttpClient okHttpClient;
+
+    private volatile Client client;
+
+    public OkHttpClientFactory(Http2Properties properties) {
+        this(properties, null);
+    }
+
+    public OkHttpClientFactory(Http2Properties properties, DnsCache dnsCache) {
+        Assert.notNull(properties, "OkHttpClientFactory properties could not be null");
+        this.properties = properties;
+        this.dnsCache = dnsCache;
+    }
+
+    /**
+     * 获取共享的Feign客户端，首次调用时创建连接池
+     *
+     * @return Client
+     */
+    public Client getClient() {
+        if (client == null) {
+            synchronized (this) {
+                if (client == null) {
+                    okHttpClient = buildOkHttpClient();
+                    Client tls = new OkHttpClient(okHttpClient);
+                    if (properties.isPriorKnowledge()) {
+                        //h2c prior knowledge只能用于明文，https仍需通过ALPN协商
+                        Client cleartext = new OkHttpClient(okHttpClient.newBuilder()
+                                .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE)).build());
+                        client = new StreamLimitingClient((request, options) -> request.url().startsWith(HTTP_SCHEME)
+                                ? cleartext.execute(request, options) : tls.execute(request, options), properties);
+                    } else {
+                        client = new StreamLimitingClient(tls, properties);
+                    }
+                }
+            }
+        }
+        return client;
+    }
+
+    private okhttp3.OkHttpClient buildOkHttpClient() {
+        log.debug("OkHttpClientFactory buildOkHttpClient,priorKnowledge:{},maxConcurrentStreams:{},hostMaxConcurrentStreams:{}",
+                properties.isPriorKnowledge(), properties.getMaxConcurrentStreams(), properties.getHostMaxConcurrentStreams());
+        okhttp3.OkHttpClient.Builder builder = new okhttp3.OkHttpClient.Builder()
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(new ConnectionPool(properties.getMaxIdleConnections(), properties.getKeepAliveMillis(), TimeUnit.MILLISECONDS));
+        if (dnsCache != null) {
+            builder.dns(dnsCache::lookup);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (okHttpClient != null) {
+            okHttpClient.dispatcher().executorService().shutdown();
+            okHttpClient.connectionPool().evictAll();
+            okHttpClient = null;
+            client = null;
+        }
+    }
+}
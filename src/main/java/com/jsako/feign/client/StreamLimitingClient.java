@@ -0,0 +1,97 @@
+package com.jsako.feign.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.util.Assert;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Date 2019/7/24
+ * @Author LLJ
+ * @Description 限制每个host同时进行的请求数，即HTTP/2连接上的并发stream数，超过时最多等待连接超时时间
+ * 等待超时抛出IOException，由Feign转换为RetryableException；许可在响应体关闭后释放，未关闭的响应会一直占用许可
+ */
+public class StreamLimitingClient implements Client {
+
+    private final Client delegate;
+
+    private final Http2Properties properties;
+
+    private final ConcurrentMap<String, Semaphore> streams = new ConcurrentHashMap<>();
+
+    public StreamLimitingClient(Client delegate, Http2Properties properties) {
+        Assert.notNull(delegate, "StreamLimitingClient delegate could not be null");
+        Assert.notNull(properties, "StreamLimitingClient properties could not be null");
+        this.delegate = delegate;
+        this.properties = properties;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String host = hostOf(request.url());
+        Semaphore semaphore = streams.computeIfAbsent(host, this::newSemaphore);
+        try {
+            if (!semaphore.tryAcquire(options.connectTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("StreamLimitingClient no stream available within connectTimeout,host:" + host
+                        + ",connectTimeoutMillis:" + options.connectTimeoutMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("StreamLimitingClient interrupted while waiting for stream");
+        }
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+        if (response.body() == null) {
+            semaphore.release();
+            return response;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        InputStream body = new FilterInputStream(response.body().asInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        semaphore.release();
+                    }
+                }
+            }
+        };
+        return response.toBuilder().body(body, response.body().length()).build();
+    }
+
+    private Semaphore newSemaphore(String host) {
+        return new Semaphore(properties.getHostMaxConcurrentStreams().getOrDefault(host, properties.getMaxConcurrentStreams()));
+    }
+
+    /**
+     * 截取scheme://host:port部分
+     */
+    static String hostOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        int start = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        for (int i = start; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                return url.substring(0, i);
+            }
+        }
+        return url;
+    }
+}
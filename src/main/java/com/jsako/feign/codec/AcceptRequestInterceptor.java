@@ -0,0 +1,29 @@
+package com.jsako.feign.codec;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description 请求未指定Accept时声明期望的响应格式，acceptJson为true时同时接受JSON，以便下游不支持该格式时回退
+ */
+public class AcceptRequestInterceptor implements RequestInterceptor {
+
+    private final String accept;
+
+    public AcceptRequestInterceptor(String mediaType) {
+        this(mediaType, true);
+    }
+
+    public AcceptRequestInterceptor(String mediaType, boolean acceptJson) {
+        this.accept = acceptJson ? mediaType + ", " + ContentTypes.JSON + ";q=0.5" : mediaType;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (!ContentTypes.containsHeader(template.headers(), ContentTypes.ACCEPT)) {
+            template.header(ContentTypes.ACCEPT, accept);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.jsako.feign.codec;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @Date 2019/7/17
+ * @Author LLJ
+ * @Description 可复用的序列化缓冲区池，固定槽位无锁获取/归还，不依赖ThreadLocal，虚拟线程下同样可以复用
+ * 池为空时临时创建缓冲区，超过maxRetainedBytes的缓冲区用完后丢弃，避免大报文长期占用内存
+ */
+public class BufferPool {
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final AtomicReferenceArray<Buffer> slots;
+
+    private final int maxRetainedBytes;
+
+    public BufferPool(int size, int maxRetainedBytes) {
+        this.slots = new AtomicReferenceArray<>(size);
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    public Buffer acquire() {
+        for (int i = 0; i < slots.length(); i++) {
+            Buffer buffer = slots.getAndSet(i, null);
+            if (buffer != null) {
+                return buffer;
+            }
+        }
+        return new Buffer();
+    }
+
+    public void release(Buffer buffer) {
+        if (buffer.bytes.length > maxRetainedBytes) {
+            return;
+        }
+        buffer.count = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.compareAndSet(i, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 可重置的字节输出流，与ByteArrayOutputStream不同，方法不加锁
+     */
+    public static class Buffer extends OutputStream {
+
+        private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+        private int count;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+            }
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * 复制已写入的内容
+         */
+        public byte[] toByteArray() {
+            return Arrays.copyOf(bytes, count);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.jsako.feign.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description Cbor格式的ObjectMapper，单独成类以保证未引入jackson-dataformat-cbor时不被加载
+ */
+final class CborCodecs {
+
+    static final String FACTORY_CLASS = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private CborCodecs() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper(new CBORFactory());
+    }
+}
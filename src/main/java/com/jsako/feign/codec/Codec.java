@@ -0,0 +1,33 @@
+package com.jsako.feign.codec;
+
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description 一种数据格式的编解码器组合
+ */
+@Getter
+@AllArgsConstructor
+public class Codec {
+
+    private final String mediaType;
+
+    private final Encoder encoder;
+
+    private final Decoder decoder;
+
+    /**
+     * 支持Stream、Iterator、InputStream返回值的解码器，不支持时为null
+     */
+    private final Decoder streamingDecoder;
+
+    /**
+     * 设置Accept的拦截器，为null时不设置
+     */
+    private final RequestInterceptor acceptInterceptor;
+}
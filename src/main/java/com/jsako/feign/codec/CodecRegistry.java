@@ -0,0 +1,84 @@
+package com.jsako.feign.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsako.feign.async.AsyncDecoder;
+import com.jsako.feign.scan.CodecEnum;
+import com.jsako.feign.stream.StreamingDecoder;
+import feign.codec.Decoder;
+import feign.jackson.JacksonDecoder;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description 编解码器注册表，二进制格式在首次使用时创建，未使用的格式不需要引入对应依赖
+ * 引用可选依赖的代码放在各格式单独的类中，只在选择该格式且依赖存在时加载
+ * Smile、Cbor的请求设置Accept并同时接受JSON，响应按Content-Type选择解码器，下游返回JSON时仍可解码
+ */
+public class CodecRegistry {
+
+    private final ObjectMapper jsonMapper;
+
+    private final Codec json;
+
+    private final ConcurrentMap<CodecEnum, Codec> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * @param jsonMapper JSON使用的ObjectMapper
+     * @param json       JSON编解码器
+     */
+    public CodecRegistry(ObjectMapper jsonMapper, Codec json) {
+        Assert.notNull(jsonMapper, "CodecRegistry jsonMapper could not be null");
+        Assert.notNull(json, "CodecRegistry json could not be null");
+        this.jsonMapper = jsonMapper;
+        this.json = json;
+    }
+
+    public Codec getCodec(CodecEnum codecType) {
+        if (codecType == CodecEnum.Json) {
+            return json;
+        }
+        return codecs.computeIfAbsent(codecType, this::build);
+    }
+
+    private Codec build(CodecEnum codecType) {
+        switch (codecType) {
+            case Smile:
+                requireClass(codecType, SmileCodecs.FACTORY_CLASS, "jackson-dataformat-smile");
+                return jacksonCodec(ContentTypes.SMILE, SmileCodecs.objectMapper());
+            case Cbor:
+                requireClass(codecType, CborCodecs.FACTORY_CLASS, "jackson-dataformat-cbor");
+                return jacksonCodec(ContentTypes.CBOR, CborCodecs.objectMapper());
+            case Protobuf:
+                requireClass(codecType, ProtobufCodecs.MESSAGE_CLASS, "protobuf-java");
+                return ProtobufCodecs.codec();
+            default:
+                throw new IllegalArgumentException("CodecRegistry unsupported codec:" + codecType);
+        }
+    }
+
+    private static void requireClass(CodecEnum codecType, String className, String artifactId) {
+        Assert.state(ClassUtils.isPresent(className, CodecRegistry.class.getClassLoader()),
+                "CodecRegistry codec " + codecType + " requires " + artifactId + " on the classpath");
+    }
+
+    private Codec jacksonCodec(String mediaType, ObjectMapper objectMapper) {
+        JacksonDecoder jsonDecoder = new JacksonDecoder(jsonMapper);
+        Decoder binaryDecoder = new JacksonBinaryDecoder(objectMapper);
+        Decoder streamingDecoder = negotiating(new StreamingDecoder(objectMapper, binaryDecoder), new StreamingDecoder(jsonMapper, jsonDecoder));
+        return new Codec(mediaType, new PooledJacksonEncoder(objectMapper, mediaType, null),
+                new AsyncDecoder(negotiating(binaryDecoder, jsonDecoder)), new AsyncDecoder(streamingDecoder),
+                new AcceptRequestInterceptor(mediaType));
+    }
+
+    static Decoder negotiating(Decoder defaultDecoder, Decoder jsonDecoder) {
+        Map<String, Decoder> decoders = Collections.singletonMap(ContentTypes.JSON, jsonDecoder);
+        return new NegotiatingDecoder(defaultDecoder, decoders);
+    }
+}
@@ -0,0 +1,56 @@
+package com.jsako.feign.codec;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description 编解码相关的媒体类型及header工具方法
+ */
+public final class ContentTypes {
+
+    public static final String CONTENT_TYPE = "Content-Type";
+
+    public static final String ACCEPT = "Accept";
+
+    public static final String JSON = "application/json";
+
+    public static final String SMILE = "application/x-jackson-smile";
+
+    public static final String CBOR = "application/cbor";
+
+    public static final String PROTOBUF = "application/x-protobuf";
+
+    private ContentTypes() {
+    }
+
+    /**
+     * 忽略大小写查找header是否存在
+     */
+    static boolean containsHeader(Map<String, Collection<String>> headers, String name) {
+        for (String key : headers.keySet()) {
+            if (name.equalsIgnoreCase(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取响应的媒体类型，去掉参数并转为小写
+     *
+     * @return 媒体类型，不存在时返回null
+     */
+    static String mediaTypeOf(Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> entry : headers.entrySet()) {
+            if (CONTENT_TYPE.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+                String value = entry.getValue().iterator().next();
+                int semicolon = value.indexOf(';');
+                return (semicolon < 0 ? value : value.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+}
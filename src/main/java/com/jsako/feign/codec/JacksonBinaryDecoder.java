@@ -0,0 +1,40 @@
+package com.jsako.feign.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description 从响应字节流解码，适用于Smile、CBOR等二进制格式(JacksonDecoder按字符流读取，不能用于二进制格式)
+ */
+public class JacksonBinaryDecoder implements Decoder {
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonBinaryDecoder(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "JacksonBinaryDecoder objectMapper could not be null");
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        if (response.status() == 404 || response.body() == null) {
+            return Util.emptyValueOf(type);
+        }
+        try (InputStream inputStream = response.body().asInputStream()) {
+            return objectMapper.readValue(inputStream, objectMapper.constructType(type));
+        } catch (IOException e) {
+            throw new DecodeException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.jsako.feign.codec;
+
+import feign.FeignException;
+import feign.Response;
+import feign.codec.Decoder;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description 根据响应Content-Type选择解码器，未匹配或响应没有Content-Type时使用默认解码器
+ */
+public class NegotiatingDecoder implements Decoder {
+
+    private final Decoder defaultDecoder;
+
+    private final Map<String, Decoder> decoders;
+
+    public NegotiatingDecoder(Decoder defaultDecoder, Map<String, Decoder> decoders) {
+        Assert.notNull(defaultDecoder, "NegotiatingDecoder defaultDecoder could not be null");
+        this.defaultDecoder = defaultDecoder;
+        this.decoders = new HashMap<>(decoders);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        String mediaType = ContentTypes.mediaTypeOf(response.headers());
+        Decoder decoder = mediaType == null ? null : decoders.get(mediaType);
+        return (decoder == null ? defaultDecoder : decoder).decode(response, type);
+    }
+}
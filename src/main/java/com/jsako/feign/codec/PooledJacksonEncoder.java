@@ -0,0 +1,84 @@
+package com.jsako.feign.codec;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import feign.RequestTemplate;
+import feign.Util;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/17
+ * @Author LLJ
+ * @Description Jackson编码器，直接写入池化缓冲区，省去JacksonEncoder中间的String及char[]，也可用于Smile、CBOR等二进制格式
+ * 请求未指定Content-Type时设置为对应的媒体类型
+ * ObjectWriter按类型缓存，Jackson生成器内部缓冲由BufferRecycler复用，每次请求只分配一次与报文等长的byte[]
+ */
+public class PooledJacksonEncoder implements Encoder {
+
+    /**
+     * 超过该大小的缓冲区不归还到池中
+     */
+    public static final int DEFAULT_MAX_RETAINED_BYTES = 1024 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final String mediaType;
+
+    private final Charset charset;
+
+    private final BufferPool bufferPool;
+
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public PooledJacksonEncoder(ObjectMapper objectMapper) {
+        this(objectMapper, ContentTypes.JSON, Util.UTF_8);
+    }
+
+    /**
+     * @param objectMapper 对应格式的ObjectMapper，如使用SmileFactory创建的ObjectMapper
+     * @param mediaType    请求未指定Content-Type时使用的媒体类型
+     * @param charset      文本格式的字符集，二进制格式为null
+     */
+    public PooledJacksonEncoder(ObjectMapper objectMapper, String mediaType, Charset charset) {
+        this(objectMapper, mediaType, charset, new BufferPool(Runtime.getRuntime().availableProcessors() * 2, DEFAULT_MAX_RETAINED_BYTES));
+    }
+
+    public PooledJacksonEncoder(ObjectMapper objectMapper, String mediaType, Charset charset, BufferPool bufferPool) {
+        Assert.notNull(objectMapper, "PooledJacksonEncoder objectMapper could not be null");
+        Assert.hasText(mediaType, "PooledJacksonEncoder mediaType could not be empty");
+        Assert.notNull(bufferPool, "PooledJacksonEncoder bufferPool could not be null");
+        this.objectMapper = objectMapper;
+        this.mediaType = mediaType;
+        this.charset = charset;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        ObjectWriter writer = writers.computeIfAbsent(bodyType, type -> objectMapper.writerFor(objectMapper.constructType(type)));
+        BufferPool.Buffer buffer = bufferPool.acquire();
+        try {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+                writer.writeValue(generator, object);
+            }
+            if (!ContentTypes.containsHeader(template.headers(), ContentTypes.CONTENT_TYPE)) {
+                template.header(ContentTypes.CONTENT_TYPE, mediaType);
+            }
+            template.body(buffer.toByteArray(), charset);
+        } catch (IOException e) {
+            throw new EncodeException(e.getMessage(), e);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.jsako.feign.codec;
+
+import com.jsako.feign.async.AsyncDecoder;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description Protobuf编解码器，单独成类以保证未引入protobuf-java时不被加载
+ * Message类型无法由Jackson绑定，因此只声明接受protobuf，下游返回JSON时抛出DecodeException而不是按protobuf解析
+ */
+final class ProtobufCodecs {
+
+    static final String MESSAGE_CLASS = "com.google.protobuf.MessageLite";
+
+    private ProtobufCodecs() {
+    }
+
+    static Codec codec() {
+        Decoder rejectJson = (response, type) -> {
+            throw new DecodeException("ProtobufDecoder could not decode " + ContentTypes.JSON + " response to " + type);
+        };
+        Decoder decoder = CodecRegistry.negotiating(new ProtobufDecoder(), rejectJson);
+        return new Codec(ContentTypes.PROTOBUF, new ProtobufEncoder(), new AsyncDecoder(decoder), null,
+                new AcceptRequestInterceptor(ContentTypes.PROTOBUF, false));
+    }
+}
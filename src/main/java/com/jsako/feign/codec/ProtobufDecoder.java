@@ -0,0 +1,46 @@
+package com.jsako.feign.codec;
+
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description protobuf响应解码，返回值需为protobuf生成的Message类型，Parser按类型缓存
+ */
+public class ProtobufDecoder implements Decoder {
+
+    private final ConcurrentMap<Class<?>, Parser<?>> parsers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        if (!(type instanceof Class) || !MessageLite.class.isAssignableFrom((Class<?>) type)) {
+            throw new DecodeException("ProtobufDecoder return type must be protobuf message but was " + type);
+        }
+        if (response.status() == 404 || response.body() == null) {
+            return Util.emptyValueOf(type);
+        }
+        try (InputStream inputStream = response.body().asInputStream()) {
+            return parsers.computeIfAbsent((Class<?>) type, ProtobufDecoder::parserOf).parseFrom(inputStream);
+        }
+    }
+
+    private static Parser<?> parserOf(Class<?> type) {
+        try {
+            return ((MessageLite) type.getMethod("getDefaultInstance").invoke(null)).getParserForType();
+        } catch (ReflectiveOperationException e) {
+            throw new DecodeException("ProtobufDecoder could not get parser of " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.jsako.feign.codec;
+
+import com.google.protobuf.MessageLite;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+import java.lang.reflect.Type;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description protobuf请求体编码，请求体需为protobuf生成的Message类型
+ */
+public class ProtobufEncoder implements Encoder {
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        if (!(object instanceof MessageLite)) {
+            throw new EncodeException("ProtobufEncoder body must be protobuf message but was " + (object == null ? null : object.getClass()));
+        }
+        if (!ContentTypes.containsHeader(template.headers(), ContentTypes.CONTENT_TYPE)) {
+            template.header(ContentTypes.CONTENT_TYPE, ContentTypes.PROTOBUF);
+        }
+        template.body(((MessageLite) object).toByteArray(), null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.jsako.feign.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description Smile格式的ObjectMapper，单独成类以保证未引入jackson-dataformat-smile时不被加载
+ */
+final class SmileCodecs {
+
+    static final String FACTORY_CLASS = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+
+    private SmileCodecs() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper(new SmileFactory());
+    }
+}
@@ -0,0 +1,126 @@
+package com.jsako.feign.compress;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * @Date 2019/7/22
+ * @Author LLJ
+ * @Description 请求声明Accept-Encoding: gzip, deflate，请求体超过minBytes时gzip压缩，响应按Content-Encoding边读边解压
+ * 请求已指定Content-Encoding时不压缩
+ */
+public class CompressingClient implements Client {
+
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    static final String CONTENT_ENCODING = "Content-Encoding";
+
+    static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final String GZIP = "gzip";
+
+    private static final String DEFLATE = "deflate";
+
+    /**
+     * Client.Default遇到名为"Content-Encoding"(区分大小写)的header时会自行压缩请求体，
+     * 请求体在这里已经压缩，使用小写header名避免重复压缩，HTTP header名不区分大小写
+     */
+    private static final String REQUEST_CONTENT_ENCODING = "content-encoding";
+
+    private final Client delegate;
+
+    private final int minBytes;
+
+    private final CompressionStats stats;
+
+    public CompressingClient(Client delegate, int minBytes, CompressionStats stats) {
+        Assert.notNull(delegate, "CompressingClient delegate could not be null");
+        Assert.notNull(stats, "CompressingClient stats could not be null");
+        this.delegate = delegate;
+        this.minBytes = minBytes;
+        this.stats = stats;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(compress(request), options);
+        return decompress(response);
+    }
+
+    private Request compress(Request request) throws IOException {
+        Map<String, Collection<String>> headers = request.headers();
+        byte[] body = request.body();
+        boolean compressBody = body != null && body.length >= minBytes && findHeader(headers, CONTENT_ENCODING) == null;
+        boolean acceptEncoding = findHeader(headers, ACCEPT_ENCODING) == null;
+        if (!compressBody && !acceptEncoding) {
+            return request;
+        }
+        Map<String, Collection<String>> newHeaders = new LinkedHashMap<>(headers);
+        if (acceptEncoding) {
+            newHeaders.put(ACCEPT_ENCODING, Collections.singletonList(GZIP + ", " + DEFLATE));
+        }
+        if (!compressBody) {
+            return Request.create(request.method(), request.url(), newHeaders, body, request.charset());
+        }
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        byte[] compressed = out.toByteArray();
+        stats.onRequestCompressed(body.length, compressed.length, System.nanoTime() - start);
+        newHeaders.keySet().removeIf(name -> CONTENT_LENGTH.equalsIgnoreCase(name));
+        newHeaders.put(CONTENT_LENGTH, Collections.singletonList(String.valueOf(compressed.length)));
+        newHeaders.put(REQUEST_CONTENT_ENCODING, Collections.singletonList(GZIP));
+        //压缩后为二进制，不再指定字符集，日志不按文本输出
+        return Request.create(request.method(), request.url(), newHeaders, compressed, null);
+    }
+
+    private Response decompress(Response response) throws IOException {
+        String encoding = findHeader(response.headers(), CONTENT_ENCODING);
+        if (encoding == null || response.body() == null) {
+            return response;
+        }
+        encoding = encoding.trim().toLowerCase(Locale.ROOT);
+        if (!GZIP.equals(encoding) && !DEFLATE.equals(encoding)) {
+            return response;
+        }
+        DecompressingInputStream.CountingInputStream compressed = new DecompressingInputStream.CountingInputStream(response.body().asInputStream());
+        InputStream inflating;
+        try {
+            inflating = GZIP.equals(encoding) ? new GZIPInputStream(compressed) : new InflaterInputStream(compressed);
+        } catch (IOException e) {
+            response.close();
+            throw e;
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(response.headers());
+        headers.keySet().removeIf(name -> CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name));
+        return response.toBuilder()
+                .headers(headers)
+                .body(new DecompressingInputStream(inflating, compressed, stats), null)
+                .build();
+    }
+
+    private static String findHeader(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+                return entry.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+}
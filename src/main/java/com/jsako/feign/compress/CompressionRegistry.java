@@ -0,0 +1,28 @@
+package com.jsako.feign.compress;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/22
+ * @Author LLJ
+ * @Description 压缩统计注册表，按FeignApi接口名查询
+ */
+public class CompressionRegistry {
+
+    private final ConcurrentMap<String, CompressionStats> stats = new ConcurrentHashMap<>();
+
+    public CompressionStats getOrCreate(String name) {
+        return stats.computeIfAbsent(name, CompressionStats::new);
+    }
+
+    public Map<String, CompressionStats.Snapshot> getAllStats() {
+        Map<String, CompressionStats.Snapshot> all = new TreeMap<>();
+        for (Map.Entry<String, CompressionStats> entry : stats.entrySet()) {
+            all.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return all;
+    }
+}
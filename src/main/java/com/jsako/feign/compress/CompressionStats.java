@@ -0,0 +1,104 @@
+package com.jsako.feign.compress;
+
+import lombok.Data;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/22
+ * @Author LLJ
+ * @Description 单个FeignApi接口的压缩统计，字节数及耗时累加，快照中计算压缩率(压缩后/压缩前)
+ */
+public class CompressionStats {
+
+    private final String name;
+
+    private final LongAdder compressedRequests = new LongAdder();
+
+    private final LongAdder requestBytes = new LongAdder();
+
+    private final LongAdder requestCompressedBytes = new LongAdder();
+
+    private final LongAdder compressNanos = new LongAdder();
+
+    private final LongAdder decompressedResponses = new LongAdder();
+
+    private final LongAdder responseBytes = new LongAdder();
+
+    private final LongAdder responseCompressedBytes = new LongAdder();
+
+    private final LongAdder decompressNanos = new LongAdder();
+
+    CompressionStats(String name) {
+        this.name = name;
+    }
+
+    void onRequestCompressed(long bytes, long compressedBytes, long nanos) {
+        compressedRequests.increment();
+        requestBytes.add(bytes);
+        requestCompressedBytes.add(compressedBytes);
+        compressNanos.add(nanos);
+    }
+
+    void onResponseDecompressed(long compressedBytes, long bytes, long nanos) {
+        decompressedResponses.increment();
+        responseCompressedBytes.add(compressedBytes);
+        responseBytes.add(bytes);
+        decompressNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setName(name);
+        snapshot.setCompressedRequests(compressedRequests.sum());
+        snapshot.setRequestBytes(requestBytes.sum());
+        snapshot.setRequestCompressedBytes(requestCompressedBytes.sum());
+        snapshot.setRequestRatio(ratio(snapshot.getRequestCompressedBytes(), snapshot.getRequestBytes()));
+        snapshot.setCompressMillis(compressNanos.sum() / 1000000L);
+        snapshot.setDecompressedResponses(decompressedResponses.sum());
+        snapshot.setResponseBytes(responseBytes.sum());
+        snapshot.setResponseCompressedBytes(responseCompressedBytes.sum());
+        snapshot.setResponseRatio(ratio(snapshot.getResponseCompressedBytes(), snapshot.getResponseBytes()));
+        snapshot.setDecompressMillis(decompressNanos.sum() / 1000000L);
+        return snapshot;
+    }
+
+    private static double ratio(long compressed, long original) {
+        return original == 0L ? 0.0D : (double) compressed / original;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private String name;
+
+        private long compressedRequests;
+
+        private long requestBytes;
+
+        private long requestCompressedBytes;
+
+        /**
+         * 请求体压缩后/压缩前
+         */
+        private double requestRatio;
+
+        private long compressMillis;
+
+        private long decompressedResponses;
+
+        private long responseBytes;
+
+        private long responseCompressedBytes;
+
+        /**
+         * 响应体压缩后/解压后
+         */
+        private double responseRatio;
+
+        /**
+         * 解压耗时，不包含等待网络数据的时间
+         */
+        private long decompressMillis;
+    }
+}
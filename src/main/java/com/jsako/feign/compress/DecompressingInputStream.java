@@ -0,0 +1,97 @@
+package com.jsako.feign.compress;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @Date 2019/7/22
+ * @Author LLJ
+ * @Description 边读边解压的响应流，统计压缩前后字节数及解压耗时，关闭时记录
+ * 解压耗时为读取总耗时减去从底层流读取压缩数据的耗时，不包含等待网络数据的时间
+ */
+class DecompressingInputStream extends FilterInputStream {
+
+    private final CountingInputStream compressed;
+
+    private final CompressionStats stats;
+
+    private long bytes;
+
+    private long nanos;
+
+    private boolean closed;
+
+    DecompressingInputStream(InputStream inflating, CountingInputStream compressed, CompressionStats stats) {
+        super(inflating);
+        this.compressed = compressed;
+        this.stats = stats;
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int b = super.read();
+        nanos += System.nanoTime() - start;
+        if (b >= 0) {
+            bytes++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        int n = super.read(b, off, len);
+        nanos += System.nanoTime() - start;
+        if (n > 0) {
+            bytes += n;
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            stats.onResponseDecompressed(compressed.count, bytes, Math.max(0L, nanos - compressed.nanos));
+        }
+        super.close();
+    }
+
+    /**
+     * 统计读取的压缩字节数及从底层流读取的耗时
+     */
+    static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private long nanos;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            int b = super.read();
+            nanos += System.nanoTime() - start;
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            int n = super.read(b, off, len);
+            nanos += System.nanoTime() - start;
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.jsako.feign.config;
 import com.jsako.feign.manager.FeignManager;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,9 +15,11 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @ConditionalOnProperty(value = "feign.scan.enabled", matchIfMissing = true)
+@EnableConfigurationProperties
 public class FeignApiScanConfiguration {
     @Bean(name = FeignManager.DEFAULT_FEIGN_MANAGER_DEF)
     @ConditionalOnMissingBean(FeignManager.class)
+    @ConfigurationProperties(prefix = "feign.scan")
     FeignManager feignManager() {
         return new FeignManager();
     }
@@ -0,0 +1,212 @@
+package com.jsako.feign.hedge;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.retry.RetryContextMethodHandlerDecorator;
+import com.jsako.feign.scan.FeignHedge;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.RequestLine;
+import feign.RetryableException;
+import feign.Target;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Date 2019/7/10
+ * @Author LLJ
+ * @Description 开启FeignHedge的幂等方法在对冲线程池中发起原请求，超过对冲等待时间未返回且预算充足时由定时线程再发起一次相同请求
+ * 调用线程只等待先成功的结果，最长等待waitMillis；阻塞在socket上的请求无法被中断，落后的请求不再等待，完成后关闭其可关闭的结果(如Response、Stream)
+ * 对冲线程池为专用且不排队的线程池，线程不足时原请求在调用线程中执行(本次不对冲)，对冲请求则放弃
+ */
+@Slf4j
+public class HedgeMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final HedgeRegistry registry;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final long waitMillis;
+
+    /**
+     * @param registry   对冲策略注册表
+     * @param executor   执行原请求及对冲请求的线程池
+     * @param scheduler  触发对冲请求的定时线程
+     * @param waitMillis 等待结果的最长时间，通常为连接超时与读超时之和
+     */
+    public HedgeMethodHandlerDecorator(HedgeRegistry registry, Executor executor, ScheduledExecutorService scheduler, long waitMillis) {
+        Assert.notNull(registry, "HedgeMethodHandlerDecorator registry could not be null");
+        Assert.notNull(executor, "HedgeMethodHandlerDecorator executor could not be null");
+        Assert.notNull(scheduler, "HedgeMethodHandlerDecorator scheduler could not be null");
+        Assert.isTrue(waitMillis > 0L, "HedgeMethodHandlerDecorator waitMillis must be greater than 0");
+        this.registry = registry;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.waitMillis = waitMillis;
+        registry.startRefresh(scheduler);
+    }
+
+    /**
+     * 获取方法生效的FeignHedge配置，方法上的优先于接口上的
+     *
+     * @return FeignHedge，未开启时返回null
+     */
+    public static FeignHedge findFeignHedge(Class<?> targetType, Method method) {
+        FeignHedge feignHedge = method.getAnnotation(FeignHedge.class);
+        return feignHedge != null ? feignHedge : targetType.getAnnotation(FeignHedge.class);
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        FeignHedge feignHedge = findFeignHedge(target.type(), method);
+        RequestLine requestLine = method.getAnnotation(RequestLine.class);
+        if (feignHedge == null || requestLine == null) {
+            return handler;
+        }
+        String line = requestLine.value().trim();
+        int space = line.indexOf(' ');
+        if (!RetryContextMethodHandlerDecorator.isIdempotent(space < 0 ? line : line.substring(0, space))) {
+            log.warn("HedgeMethodHandlerDecorator decorate,method:{} is not idempotent, hedging disabled", method);
+            return handler;
+        }
+        HedgePolicy policy = registry.getOrCreate(target.type(), method, feignHedge);
+        return argv -> invoke(policy, handler, argv);
+    }
+
+    private Object invoke(HedgePolicy policy, MethodHandler handler, Object[] argv) throws Throwable {
+        policy.onRequest();
+        long delayMillis = policy.hedgeDelayMillis();
+        if (delayMillis < 0L) {
+            //样本不足时在调用线程中直接执行，只记录延迟
+            long start = System.nanoTime();
+            Object result = handler.invoke(argv);
+            policy.onSuccess(System.nanoTime() - start, false);
+            return result;
+        }
+        Race race = new Race(policy, handler, argv);
+        race.start(false);
+        ScheduledFuture<?> timer = scheduler.schedule(race::hedge, delayMillis, TimeUnit.MILLISECONDS);
+        try {
+            return race.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            Throwable failure = race.failure;
+            throw failure != null ? failure : new RetryableException("HedgeMethodHandlerDecorator no result within "
+                    + waitMillis + "ms", e, null);
+        } finally {
+            //结果已返回或放弃等待，未触发的对冲请求不再发送，仍在执行的请求完成后丢弃
+            timer.cancel(false);
+            race.abandon();
+        }
+    }
+
+    /**
+     * 一次调用中的原请求与对冲请求
+     */
+    private final class Race {
+
+        private final HedgePolicy policy;
+
+        private final MethodHandler handler;
+
+        private final Object[] argv;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        /**
+         * 未结束的请求数
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile Throwable failure;
+
+        private Race(HedgePolicy policy, MethodHandler handler, Object[] argv) {
+            this.policy = policy;
+            this.handler = handler;
+            this.argv = argv;
+        }
+
+        private void start(boolean hedge) {
+            pending.incrementAndGet();
+            try {
+                executor.execute(() -> attempt(hedge));
+            } catch (RejectedExecutionException e) {
+                if (hedge) {
+                    log.debug("HedgeMethodHandlerDecorator hedge,executor rejected,msg:{}", e.getMessage());
+                    finish(null);
+                } else {
+                    attempt(false);
+                }
+            }
+        }
+
+        /**
+         * 由定时线程触发，已有结果或预算不足时不发送
+         */
+        private void hedge() {
+            if (!result.isDone() && policy.tryHedge()) {
+                start(true);
+            }
+        }
+
+        private void attempt(boolean hedge) {
+            long start = System.nanoTime();
+            Object value;
+            try {
+                value = handler.invoke(argv);
+            } catch (Throwable e) {
+                finish(e);
+                return;
+            }
+            pending.decrementAndGet();
+            if (result.complete(value)) {
+                policy.onSuccess(System.nanoTime() - start, hedge);
+            } else {
+                policy.onSuccess(System.nanoTime() - start, false);
+                discard(value);
+            }
+        }
+
+        /**
+         * 一个请求失败或未能发起，所有请求都结束时以记录的异常结束
+         */
+        private void finish(Throwable e) {
+            if (e != null) {
+                //所有请求都失败时才返回异常，以最后一个失败为准
+                failure = e;
+            }
+            if (pending.decrementAndGet() == 0 && failure != null) {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        /**
+         * 调用方不再等待，之后完成的结果全部丢弃
+         */
+        private void abandon() {
+            result.cancel(false);
+        }
+
+        private void discard(Object value) {
+            if (value instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) value).close();
+                } catch (Exception e) {
+                    log.debug("HedgeMethodHandlerDecorator discard,close loser error", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.jsako.feign.hedge;
+
+import com.jsako.feign.metrics.LatencyHistogram;
+import com.jsako.feign.retry.RetryBudget;
+import com.jsako.feign.retry.RetryProperties;
+import lombok.Data;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/10
+ * @Author LLJ
+ * @Description 单个方法的对冲策略，记录单次请求延迟以计算对冲等待时间，并通过预算限制对冲请求数
+ * 观测延迟按窗口统计，由定时线程每秒重新计算等待时间，调用路径上只读取volatile字段
+ */
+public class HedgePolicy {
+
+    /**
+     * 使用观测延迟时，样本数达到该值之前不发送对冲请求
+     */
+    static final long MIN_SAMPLES = 100L;
+
+    /**
+     * 统计窗口包含的刷新次数，每次刷新间隔1秒
+     */
+    static final int WINDOW_TICKS = 10;
+
+    private final String name;
+
+    private final long delayMillis;
+
+    private final double percentile;
+
+    private final long minDelayMillis;
+
+    /**
+     * 当前窗口的延迟，窗口结束时替换为新的直方图
+     */
+    private volatile LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * 上一个窗口的延迟，当前窗口样本不足时使用，只在refresh中访问
+     */
+    private LatencyHistogram previous;
+
+    private int ticks;
+
+    /**
+     * 由观测延迟计算的对冲等待时间，-1表示样本不足
+     */
+    private volatile long observedDelayMillis = -1L;
+
+    /**
+     * 对冲预算没有保底令牌，对冲请求数严格不超过请求数的budgetPercent
+     */
+    private final RetryBudget budget;
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HedgePolicy(String name, long delayMillis, double percentile, long minDelayMillis, int budgetPercent) {
+        this.name = name;
+        this.delayMillis = delayMillis;
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        RetryProperties properties = new RetryProperties();
+        properties.setMinRetriesPerSecond(0);
+        properties.setMaxTokens(Math.max(1, budgetPercent));
+        this.budget = new RetryBudget(name, budgetPercent, properties);
+    }
+
+    /**
+     * 发送对冲请求前的等待时间
+     *
+     * @return 毫秒，小于0时不发送对冲请求
+     */
+    long hedgeDelayMillis() {
+        return delayMillis >= 0L ? delayMillis : observedDelayMillis;
+    }
+
+    /**
+     * 按当前窗口(样本不足时为上一个窗口)的延迟分位数重新计算对冲等待时间，窗口满WINDOW_TICKS次后滚动
+     * 两个窗口样本都不足时保留上次计算的值
+     */
+    synchronized void refresh() {
+        if (delayMillis >= 0L) {
+            return;
+        }
+        LatencyHistogram current = latency;
+        LatencyHistogram source = current.getCount() >= MIN_SAMPLES ? current : previous;
+        if (source != null && source.getCount() >= MIN_SAMPLES) {
+            observedDelayMillis = Math.max(minDelayMillis, TimeUnit.MICROSECONDS.toMillis(source.percentile(percentile)));
+        }
+        if (++ticks >= WINDOW_TICKS) {
+            ticks = 0;
+            previous = current;
+            latency = new LatencyHistogram();
+        }
+    }
+
+    void onRequest() {
+        budget.deposit();
+    }
+
+    boolean tryHedge() {
+        return budget.tryWithdraw();
+    }
+
+    void onSuccess(long nanos, boolean hedge) {
+        latency.recordNanos(nanos);
+        if (hedge) {
+            hedgeWins.increment();
+        }
+    }
+
+    public Stats stats() {
+        RetryBudget.Snapshot snapshot = budget.snapshot();
+        Stats stats = new Stats();
+        stats.setName(name);
+        stats.setRequests(snapshot.getRequests());
+        stats.setHedges(snapshot.getSpent());
+        stats.setHedgeWins(hedgeWins.sum());
+        stats.setDenied(snapshot.getDenied());
+        stats.setDelayMillis(hedgeDelayMillis());
+        return stats;
+    }
+
+    @Data
+    public static class Stats {
+
+        private String name;
+
+        private long requests;
+
+        /**
+         * 已发送的对冲请求数
+         */
+        private long hedges;
+
+        /**
+         * 对冲请求先于原请求成功返回的次数
+         */
+        private long hedgeWins;
+
+        /**
+         * 因预算不足未发送的对冲请求数
+         */
+        private long denied;
+
+        /**
+         * 当前对冲等待时间，-1表示样本不足暂不对冲
+         */
+        private long delayMillis;
+    }
+}
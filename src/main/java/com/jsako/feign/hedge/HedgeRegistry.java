@@ -0,0 +1,62 @@
+package com.jsako.feign.hedge;
+
+import com.jsako.feign.scan.FeignHedge;
+import feign.Feign;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Date 2019/7/10
+ * @Author LLJ
+ * @Description 对冲策略注册表，按方法configKey查询对冲统计
+ */
+public class HedgeRegistry {
+
+    private final ConcurrentMap<String, HedgePolicy> policies = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * 在定时线程中每秒刷新所有方法的对冲等待时间，多次调用只启动一次
+     *
+     * @param scheduler 共享定时线程
+     */
+    public void startRefresh(ScheduledExecutorService scheduler) {
+        if (refreshing.compareAndSet(false, true)) {
+            scheduler.scheduleWithFixedDelay(this::refresh, 1L, 1L, TimeUnit.SECONDS);
+        }
+    }
+
+    private void refresh() {
+        for (HedgePolicy policy : policies.values()) {
+            policy.refresh();
+        }
+    }
+
+    /**
+     * 获取或创建方法的对冲策略，在生成代理时调用
+     */
+    public HedgePolicy getOrCreate(Class<?> targetType, Method method, FeignHedge feignHedge) {
+        String configKey = Feign.configKey(targetType, method);
+        return policies.computeIfAbsent(configKey, key -> new HedgePolicy(key, feignHedge.delayMillis(),
+                feignHedge.percentile(), feignHedge.minDelayMillis(), feignHedge.budgetPercent()));
+    }
+
+    /**
+     * 所有方法的对冲统计信息，key为方法configKey
+     */
+    public Map<String, HedgePolicy.Stats> getAllStats() {
+        Map<String, HedgePolicy.Stats> all = new TreeMap<>();
+        for (Map.Entry<String, HedgePolicy> entry : policies.entrySet()) {
+            all.put(entry.getKey(), entry.getValue().stats());
+        }
+        return all;
+    }
+}
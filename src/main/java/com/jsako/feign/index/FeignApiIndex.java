@@ -0,0 +1,81 @@
+package com.jsako.feign.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @Date 2019/6/21
+ * @Author LLJ
+ * @Description 编译期生成的FeignApi索引，由feign-scan-indexer注解处理器写入 META-INF/feign-api.index
+ * 文件为properties格式，key为FeignApi接口全限定名
+ */
+@Slf4j
+public class FeignApiIndex {
+
+    /**
+     * 索引文件位置
+     */
+    public static final String INDEX_LOCATION = "META-INF/feign-api.index";
+
+    /**
+     * 忽略索引强制扫描classpath的配置项
+     */
+    public static final String IGNORE_INDEX_PROPERTY = "feign.scan.index.ignore";
+
+    private final Set<String> feignApis;
+
+    private FeignApiIndex(Set<String> feignApis) {
+        this.feignApis = feignApis;
+    }
+
+    /**
+     * 加载classpath中所有的FeignApi索引文件
+     *
+     * @param classLoader ClassLoader
+     * @return FeignApiIndex，classpath中不存在索引文件时返回null
+     */
+    public static FeignApiIndex load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            Set<String> feignApis = new TreeSet<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
+                feignApis.addAll(properties.stringPropertyNames());
+            }
+            log.debug("FeignApiIndex load,feignApis size:{}", feignApis.size());
+            return new FeignApiIndex(Collections.unmodifiableSet(feignApis));
+        } catch (IOException e) {
+            throw new IllegalStateException("FeignApiIndex load,unable to load index from location [" + INDEX_LOCATION + "]", e);
+        }
+    }
+
+    /**
+     * 获取basePackage包及子包下的FeignApi接口名
+     *
+     * @param basePackage 包名
+     * @return FeignApi接口全限定名
+     */
+    public Set<String> getFeignApis(String basePackage) {
+        String prefix = basePackage.endsWith(".") ? basePackage : basePackage + ".";
+        Set<String> matched = new TreeSet<>();
+        for (String feignApi : feignApis) {
+            if (feignApi.startsWith(prefix)) {
+                matched.add(feignApi);
+            }
+        }
+        return matched;
+    }
+}
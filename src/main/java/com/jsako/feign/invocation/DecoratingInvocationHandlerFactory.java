@@ -0,0 +1,42 @@
+package com.jsako.feign.invocation;
+
+import feign.InvocationHandlerFactory;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Date 2019/6/12
+ * @Author LLJ
+ * @Description 依次使用MethodHandlerDecorator包装每个方法的MethodHandler，列表中靠后的decorator位于调用链外层
+ */
+public class DecoratingInvocationHandlerFactory implements InvocationHandlerFactory {
+
+    private final InvocationHandlerFactory delegate = new InvocationHandlerFactory.Default();
+
+    private final List<MethodHandlerDecorator> decorators;
+
+    public DecoratingInvocationHandlerFactory(List<MethodHandlerDecorator> decorators) {
+        Assert.notNull(decorators, "DecoratingInvocationHandlerFactory decorators could not be null");
+        this.decorators = new ArrayList<>(decorators);
+    }
+
+    @Override
+    public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+        Map<Method, MethodHandler> decorated = new LinkedHashMap<>(dispatch.size());
+        for (Map.Entry<Method, MethodHandler> entry : dispatch.entrySet()) {
+            MethodHandler handler = entry.getValue();
+            for (MethodHandlerDecorator decorator : decorators) {
+                handler = decorator.decorate(target, entry.getKey(), handler);
+            }
+            decorated.put(entry.getKey(), handler);
+        }
+        return delegate.create(target, decorated);
+    }
+}
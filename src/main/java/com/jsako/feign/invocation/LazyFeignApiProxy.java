@@ -0,0 +1,86 @@
+package com.jsako.feign.invocation;
+
+import org.springframework.util.Assert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+
+/**
+ * @Date 2019/6/24
+ * @Author LLJ
+ * @Description 延迟创建FeignApi代理，启动时只注册轻量的JDK代理，首次调用接口方法时才构建Feign目标对象
+ */
+public class LazyFeignApiProxy<T> implements InvocationHandler {
+
+    private final Class<T> targetProxyInterface;
+
+    private final Callable<T> targetFactory;
+
+    private volatile T target;
+
+    private LazyFeignApiProxy(Class<T> targetProxyInterface, Callable<T> targetFactory) {
+        this.targetProxyInterface = targetProxyInterface;
+        this.targetFactory = targetFactory;
+    }
+
+    /**
+     * 创建延迟代理
+     *
+     * @param targetProxyInterface FeignApi接口
+     * @param targetFactory        首次调用时构建Feign目标对象
+     * @return 接口代理
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T create(Class<T> targetProxyInterface, Callable<T> targetFactory) {
+        Assert.notNull(targetProxyInterface, "LazyFeignApiProxy targetProxyInterface could not be null");
+        Assert.notNull(targetFactory, "LazyFeignApiProxy targetFactory could not be null");
+        return (T) Proxy.newProxyInstance(targetProxyInterface.getClassLoader(), new Class<?>[]{targetProxyInterface},
+                new LazyFeignApiProxy<>(targetProxyInterface, targetFactory));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        //Object方法不触发Feign目标对象的创建
+        switch (method.getName()) {
+            case "equals":
+                if (method.getParameterCount() == 1) {
+                    return proxy == args[0];
+                }
+                break;
+            case "hashCode":
+                if (method.getParameterCount() == 0) {
+                    return System.identityHashCode(proxy);
+                }
+                break;
+            case "toString":
+                if (method.getParameterCount() == 0) {
+                    return "LazyFeignApiProxy(" + targetProxyInterface.getName() + (target == null ? ",unmaterialized)" : ")");
+                }
+                break;
+            default:
+                break;
+        }
+        try {
+            return method.invoke(getTarget(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private T getTarget() throws Exception {
+        T current = target;
+        if (current == null) {
+            synchronized (this) {
+                current = target;
+                if (current == null) {
+                    current = targetFactory.call();
+                    target = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jsako.feign.invocation;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+
+import java.lang.reflect.Method;
+
+/**
+ * @Date 2019/6/12
+ * @Author LLJ
+ * @Description 对FeignApi单个方法的MethodHandler进行包装，在生成代理时调用一次
+ */
+public interface MethodHandlerDecorator {
+
+    /**
+     * 包装MethodHandler
+     *
+     * @param target  FeignApi目标
+     * @param method  FeignApi接口方法
+     * @param handler 被包装的MethodHandler
+     * @return 包装后的MethodHandler，不需要包装时返回handler本身
+     */
+    MethodHandler decorate(Target<?> target, Method method, MethodHandler handler);
+}
@@ -0,0 +1,147 @@
+package com.jsako.feign.limit;
+
+import lombok.Data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/5
+ * @Author LLJ
+ * @Description 基于Vegas算法的自适应并发限制，根据RTT相对无负载RTT的增长估算下游排队长度
+ * 排队少时增大限制，排队多或出现丢弃(超时/503/429)时减小限制
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String host;
+
+    private final ConcurrencyLimitProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final LongAdder samples = new LongAdder();
+
+    private volatile double limit;
+
+    private volatile long rttNoLoadNanos;
+
+    public AdaptiveConcurrencyLimiter(String host, ConcurrencyLimitProperties properties) {
+        this.host = host;
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * 获取许可，超过当前限制时抛出ConcurrencyLimitExceededException
+     *
+     * @return 开始时间，纳秒，传给onSample
+     */
+    public long acquire() {
+        int currentLimit = getLimit();
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                rejections.increment();
+                throw new ConcurrencyLimitExceededException(host, currentLimit);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * 请求结束，释放许可并根据RTT调整限制
+     *
+     * @param startNanos acquire返回值
+     * @param didDrop    是否为过载信号(超时、503、429)
+     */
+    public void onSample(long startNanos, boolean didDrop) {
+        long rtt = System.nanoTime() - startNanos;
+        int current = inFlight.getAndDecrement();
+        samples.increment();
+        update(rtt, current, didDrop);
+    }
+
+    /**
+     * 请求未真正发出，只释放许可
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rtt, int inFlightAtCompletion, boolean didDrop) {
+        if (rtt <= 0) {
+            return;
+        }
+        if (rttNoLoadNanos == 0L || rtt < rttNoLoadNanos || samples.sum() % properties.getProbeInterval() == 0) {
+            rttNoLoadNanos = rtt;
+        }
+        double current = limit;
+        double log = Math.max(1.0D, Math.log10(current));
+        double newLimit;
+        if (didDrop) {
+            newLimit = current - log;
+        } else if (inFlightAtCompletion * 2 < current) {
+            //调用方并发不足，RTT不能反映下游容量，不增长
+            return;
+        } else {
+            double queueSize = Math.ceil(current * (1.0D - (double) rttNoLoadNanos / rtt));
+            double alpha = 3 * log;
+            double beta = 6 * log;
+            if (queueSize <= log) {
+                newLimit = current + beta;
+            } else if (queueSize < alpha) {
+                newLimit = current + log;
+            } else if (queueSize > beta) {
+                newLimit = current - log;
+            } else {
+                return;
+            }
+        }
+        newLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+        limit = (1 - properties.getSmoothing()) * current + properties.getSmoothing() * newLimit;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setHost(host);
+        snapshot.setLimit(getLimit());
+        snapshot.setInFlight(getInFlight());
+        snapshot.setRejections(getRejections());
+        snapshot.setRttNoLoadMicros(rttNoLoadNanos / 1000L);
+        return snapshot;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private String host;
+
+        private int limit;
+
+        private int inFlight;
+
+        private long rejections;
+
+        private long rttNoLoadMicros;
+    }
+}
@@ -0,0 +1,13 @@
+package com.jsako.feign.limit;
+
+/**
+ * @Date 2019/7/5
+ * @Author LLJ
+ * @Description 超过下游host当前并发限制，请求被直接拒绝，不会触发Feign重试
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String host, int limit) {
+        super("ConcurrencyLimitExceededException host:" + host + ",limit:" + limit);
+    }
+}
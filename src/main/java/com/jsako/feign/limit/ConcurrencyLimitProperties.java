@@ -0,0 +1,28 @@
+package com.jsako.feign.limit;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/7/5
+ * @Author LLJ
+ * @Description 自适应并发限制配置，对应配置前缀 feign.scan.concurrency-limit
+ */
+@Data
+public class ConcurrencyLimitProperties {
+
+    private int initialLimit = 20;
+
+    private int minLimit = 1;
+
+    private int maxLimit = 1000;
+
+    /**
+     * 新限制值的平滑系数，取值(0,1]
+     */
+    private double smoothing = 1.0D;
+
+    /**
+     * 每采样多少次重置一次无负载RTT，用于感知下游基线延迟的变化
+     */
+    private int probeInterval = 1000;
+}
@@ -0,0 +1,37 @@
+package com.jsako.feign.limit;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/5
+ * @Author LLJ
+ * @Description 按下游host维护自适应并发限制，同一host的FeignApi共享限制
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final ConcurrencyLimitProperties properties;
+
+    public ConcurrencyLimiterRegistry(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    public AdaptiveConcurrencyLimiter get(String host) {
+        return limiters.computeIfAbsent(host, h -> new AdaptiveConcurrencyLimiter(h, properties));
+    }
+
+    /**
+     * 各host当前并发限制、进行中请求数及拒绝次数
+     */
+    public Map<String, AdaptiveConcurrencyLimiter.Snapshot> getSnapshots() {
+        Map<String, AdaptiveConcurrencyLimiter.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, AdaptiveConcurrencyLimiter> entry : limiters.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+}
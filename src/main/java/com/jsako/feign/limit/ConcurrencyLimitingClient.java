@@ -0,0 +1,91 @@
+package com.jsako.feign.limit;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.util.Assert;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Date 2019/7/5
+ * @Author LLJ
+ * @Description 按请求实际访问的host进行自适应并发限制，超出限制立即拒绝；permit在响应体关闭后释放
+ */
+public class ConcurrencyLimitingClient implements Client {
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final Client delegate;
+
+    private final ConcurrencyLimiterRegistry registry;
+
+    public ConcurrencyLimitingClient(Client delegate, ConcurrencyLimiterRegistry registry) {
+        Assert.notNull(delegate, "ConcurrencyLimitingClient delegate could not be null");
+        Assert.notNull(registry, "ConcurrencyLimitingClient registry could not be null");
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        AdaptiveConcurrencyLimiter limiter = registry.get(hostOf(request.url()));
+        long start = limiter.acquire();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException e) {
+            limiter.onSample(start, true);
+            throw e;
+        } catch (RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+        int status = response.status();
+        return sampleOnClose(response, limiter, start, status == SERVICE_UNAVAILABLE || status == TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * 响应体关闭时才释放permit并记录RTT，读取响应体的耗时同样计入并发及延迟
+     */
+    private Response sampleOnClose(Response response, AdaptiveConcurrencyLimiter limiter, long start, boolean dropped) throws IOException {
+        if (response.body() == null) {
+            limiter.onSample(start, dropped);
+            return response;
+        }
+        AtomicBoolean sampled = new AtomicBoolean();
+        InputStream body = new FilterInputStream(response.body().asInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (sampled.compareAndSet(false, true)) {
+                        limiter.onSample(start, dropped);
+                    }
+                }
+            }
+        };
+        return response.toBuilder().body(body, response.body().length()).build();
+    }
+
+    /**
+     * 截取scheme://host:port部分
+     */
+    static String hostOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        int start = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        for (int i = start; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                return url.substring(0, i);
+            }
+        }
+        return url;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 节点及其观测到的运行状态，同一FeignManager中相同地址的节点共享状态
+ */
+public class Endpoint {
+
+    private final String url;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicInteger ejections = new AtomicInteger();
+
+    private volatile double ewmaLatencyNanos;
+
+    private volatile long ejectedUntilMillis;
+
+    public Endpoint(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getEwmaLatencyNanos() {
+        return ewmaLatencyNanos;
+    }
+
+    public boolean isEjected(long nowMillis) {
+        return nowMillis < ejectedUntilMillis;
+    }
+
+    void onStart() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * 请求结束，响应体关闭或请求失败时调用，onStart后只调用一次
+     */
+    void onFinish() {
+        inFlight.decrementAndGet();
+    }
+
+    void onSuccess(long latencyNanos, double alpha) {
+        consecutiveFailures.set(0);
+        updateLatency(latencyNanos, alpha);
+    }
+
+    /**
+     * @return 当前连续失败次数
+     */
+    int onFailure(long latencyNanos, double alpha) {
+        updateLatency(latencyNanos, alpha);
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    /**
+     * 摘除节点，第n次摘除时间为 n * baseEjectionMillis；上次摘除结束后已正常服务超过maxEjectionMillis时重新从第1次计算
+     */
+    synchronized void eject(long nowMillis, long baseEjectionMillis, long maxEjectionMillis) {
+        if (ejectedUntilMillis > 0L && nowMillis - ejectedUntilMillis >= maxEjectionMillis) {
+            ejections.set(0);
+        }
+        int times = ejections.incrementAndGet();
+        ejectedUntilMillis = nowMillis + Math.min(maxEjectionMillis, times * baseEjectionMillis);
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * 并发更新时允许丢失个别观测值
+     */
+    private void updateLatency(long latencyNanos, double alpha) {
+        double current = ewmaLatencyNanos;
+        ewmaLatencyNanos = current == 0.0D ? latencyNanos : current + alpha * (latencyNanos - current);
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint(" + url + ",inFlight=" + inFlight.get() + ",ewmaLatencyNanos=" + (long) ewmaLatencyNanos + ")";
+    }
+}
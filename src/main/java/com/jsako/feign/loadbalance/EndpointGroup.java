@@ -0,0 +1,18 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.List;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 可动态解析的节点组，如对接注册中心，在FeignApi.endpointGroup中以BeanName引用
+ */
+public interface EndpointGroup {
+
+    /**
+     * 当前可用的节点地址，如 http://10.0.0.1:8080，每次请求选择节点时调用，实现需保证开销很小
+     *
+     * @return 节点地址列表
+     */
+    List<String> getEndpoints();
+}
@@ -0,0 +1,24 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 节点注册表，相同地址的节点在所有FeignApi间共享状态(进行中请求、延迟、摘除)
+ */
+public class EndpointRegistry {
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public Endpoint get(String url) {
+        return endpoints.computeIfAbsent(url, Endpoint::new);
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return Collections.unmodifiableMap(endpoints);
+    }
+}
@@ -0,0 +1,26 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 选择进行中请求最少的节点，相同时从随机位置开始避免总选第一个
+ */
+public class LeastInFlightStrategy implements LoadBalanceStrategy {
+
+    @Override
+    public Endpoint choose(List<Endpoint> candidates) {
+        int size = candidates.size();
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        Endpoint best = null;
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = candidates.get((offset + i) % size);
+            if (best == null || endpoint.getInFlight() < best.getInFlight()) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,40 @@
+package com.jsako.feign.loadbalance;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 负载均衡及被动摘除配置，对应配置前缀 feign.scan.load-balance
+ */
+@Data
+public class LoadBalanceProperties {
+
+    /**
+     * 连续失败(IO异常或5xx)多少次后摘除节点
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * 基础摘除时间，第n次摘除时间为 n * baseEjectionMillis，最长不超过maxEjectionMillis
+     * 节点恢复后超过maxEjectionMillis未再被摘除时，摘除次数清零
+     */
+    private long baseEjectionMillis = 30000L;
+
+    private long maxEjectionMillis = 300000L;
+
+    /**
+     * 最多摘除节点比例，保证总有节点可用
+     */
+    private int maxEjectionPercent = 50;
+
+    /**
+     * 延迟EWMA的衰减系数，越大越偏向最新的观测值
+     */
+    private double ewmaAlpha = 0.3D;
+
+    /**
+     * 失败请求计入EWMA的最小延迟，避免快速失败(如连接拒绝)的节点因延迟低被PowerOfTwoChoices优先选中
+     */
+    private long failurePenaltyMillis = 1000L;
+}
@@ -0,0 +1,19 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.List;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 负载均衡策略
+ */
+public interface LoadBalanceStrategy {
+
+    /**
+     * 从可用节点中选择一个
+     *
+     * @param candidates 可用节点，不为空
+     * @return 选中的节点
+     */
+    Endpoint choose(List<Endpoint> candidates);
+}
@@ -0,0 +1,152 @@
+package com.jsako.feign.loadbalance;
+
+import com.jsako.feign.limit.ConcurrencyLimitExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 客户端负载均衡，将请求中的逻辑地址(FeignApi.url中的第一个地址)替换为选中的节点
+ * 重试由Feign Retryer驱动，每次重试都会重新选择节点；连续失败的节点被被动摘除一段时间
+ */
+@Slf4j
+public class LoadBalancingClient implements Client {
+
+    private final Client delegate;
+
+    private final String baseUrl;
+
+    private final EndpointGroup endpointGroup;
+
+    private final LoadBalanceStrategy strategy;
+
+    private final EndpointRegistry registry;
+
+    private final LoadBalanceProperties properties;
+
+    public LoadBalancingClient(Client delegate, String baseUrl, EndpointGroup endpointGroup, LoadBalanceStrategy strategy,
+                               EndpointRegistry registry, LoadBalanceProperties properties) {
+        Assert.notNull(delegate, "LoadBalancingClient delegate could not be null");
+        Assert.hasLength(baseUrl, "LoadBalancingClient baseUrl could not be null");
+        Assert.notNull(endpointGroup, "LoadBalancingClient endpointGroup could not be null");
+        Assert.notNull(strategy, "LoadBalancingClient strategy could not be null");
+        Assert.notNull(registry, "LoadBalancingClient registry could not be null");
+        Assert.notNull(properties, "LoadBalancingClient properties could not be null");
+        this.delegate = delegate;
+        this.baseUrl = trimTrailingSlash(baseUrl);
+        this.endpointGroup = endpointGroup;
+        this.strategy = strategy;
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String url = request.url();
+        if (!url.startsWith(baseUrl)) {
+            return delegate.execute(request, options);
+        }
+        long now = System.currentTimeMillis();
+        List<Endpoint> endpoints = resolveEndpoints();
+        List<Endpoint> candidates = available(endpoints, now);
+        Endpoint endpoint = strategy.choose(candidates.isEmpty() ? endpoints : candidates);
+
+        Request routed = Request.create(request.method(), endpoint.getUrl() + url.substring(baseUrl.length()),
+                request.headers(), request.body(), request.charset());
+        endpoint.onStart();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = delegate.execute(routed, options);
+        } catch (ConcurrencyLimitExceededException e) {
+            //请求未真正发出，不计入成功或失败
+            endpoint.onFinish();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            endpoint.onFinish();
+            onFailure(endpoint, endpoints, System.nanoTime() - start);
+            throw e;
+        }
+        if (response.status() >= 500) {
+            onFailure(endpoint, endpoints, System.nanoTime() - start);
+        } else {
+            endpoint.onSuccess(System.nanoTime() - start, properties.getEwmaAlpha());
+        }
+        return releaseOnClose(response, endpoint);
+    }
+
+    /**
+     * 响应体关闭时才结束节点上的请求，下载耗时较长的响应在此期间仍计入inFlight
+     */
+    private Response releaseOnClose(Response response, Endpoint endpoint) throws IOException {
+        if (response.body() == null) {
+            endpoint.onFinish();
+            return response;
+        }
+        AtomicBoolean finished = new AtomicBoolean();
+        InputStream body = new FilterInputStream(response.body().asInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (finished.compareAndSet(false, true)) {
+                        endpoint.onFinish();
+                    }
+                }
+            }
+        };
+        return response.toBuilder().body(body, response.body().length()).build();
+    }
+
+    private void onFailure(Endpoint endpoint, List<Endpoint> endpoints, long latencyNanos) {
+        long penaltyNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFailurePenaltyMillis());
+        int failures = endpoint.onFailure(Math.max(latencyNanos, penaltyNanos), properties.getEwmaAlpha());
+        if (failures < properties.getConsecutiveFailures()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int ejected = endpoints.size() - available(endpoints, now).size();
+        if ((ejected + 1) * 100 <= endpoints.size() * properties.getMaxEjectionPercent()) {
+            endpoint.eject(now, properties.getBaseEjectionMillis(), properties.getMaxEjectionMillis());
+            log.warn("LoadBalancingClient eject endpoint:{},consecutiveFailures:{}", endpoint.getUrl(), failures);
+        }
+    }
+
+    private List<Endpoint> resolveEndpoints() {
+        List<String> urls = endpointGroup.getEndpoints();
+        Assert.notEmpty(urls, "LoadBalancingClient endpointGroup of " + baseUrl + " has no endpoints");
+        List<Endpoint> endpoints = new ArrayList<>(urls.size());
+        for (String endpointUrl : urls) {
+            endpoints.add(registry.get(trimTrailingSlash(endpointUrl)));
+        }
+        return endpoints;
+    }
+
+    private static List<Endpoint> available(List<Endpoint> endpoints, long now) {
+        List<Endpoint> available = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected(now)) {
+                available.add(endpoint);
+            }
+        }
+        return available;
+    }
+
+    private static String trimTrailingSlash(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
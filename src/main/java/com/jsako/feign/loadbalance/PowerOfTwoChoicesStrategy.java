@@ -0,0 +1,34 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 随机选两个节点，取代价较小的一个，代价 = EWMA延迟 * (进行中请求数 + 1)
+ */
+public class PowerOfTwoChoicesStrategy implements LoadBalanceStrategy {
+
+    @Override
+    public Endpoint choose(List<Endpoint> candidates) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return cost(a) <= cost(b) ? a : b;
+    }
+
+    private static double cost(Endpoint endpoint) {
+        //未观测过延迟的节点优先探测
+        return endpoint.getEwmaLatencyNanos() * (endpoint.getInFlight() + 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jsako.feign.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 轮询
+ */
+public class RoundRobinStrategy implements LoadBalanceStrategy {
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public Endpoint choose(List<Endpoint> candidates) {
+        return candidates.get((next.getAndIncrement() & Integer.MAX_VALUE) % candidates.size());
+    }
+}
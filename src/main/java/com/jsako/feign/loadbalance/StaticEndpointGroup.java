@@ -0,0 +1,26 @@
+package com.jsako.feign.loadbalance;
+
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description 固定节点组，对应FeignApi.url中逗号分隔的多个地址
+ */
+public class StaticEndpointGroup implements EndpointGroup {
+
+    private final List<String> endpoints;
+
+    public StaticEndpointGroup(List<String> endpoints) {
+        Assert.notEmpty(endpoints, "StaticEndpointGroup endpoints could not be empty");
+        this.endpoints = Collections.unmodifiableList(endpoints);
+    }
+
+    @Override
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+}
@@ -0,0 +1,334 @@
+package com.jsako.feign.logging;
+
+import feign.Request;
+import feign.Response;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/8/8
+ * @Author LLJ
+ * @Description 采样异步日志器，只记录采样命中、出错及慢调用
+ * 调用线程只保存请求引用并在响应时判断是否记录，需要记录时复制截断后的请求体、读取响应体前缀后放入有界队列，
+ * 格式化及输出在后台线程完成；队列满时丢弃，不阻塞调用线程；响应体前缀读取后与剩余数据拼接返回，不缓冲完整响应体
+ */
+@Slf4j
+public class SampledAsyncLogger extends feign.Logger implements Closeable {
+
+    private final SampledLoggingProperties properties;
+
+    /**
+     * 当前线程正在执行的请求，logRequest与响应在同一线程
+     */
+    private final ThreadLocal<Request> pending = new ThreadLocal<>();
+
+    private final BlockingQueue<Entry> queue;
+
+    private final Thread writer;
+
+    private volatile boolean closed;
+
+    private final LongAdder sampled = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder slow = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    public SampledAsyncLogger(SampledLoggingProperties properties) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.writer = new Thread(this::drain, "feign-sampled-logger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    protected void logRequest(String configKey, Level logLevel, Request request) {
+        pending.set(request);
+    }
+
+    @Override
+    protected void logRetry(String configKey, Level logLevel) {
+        //每次重试各自记录请求及结果
+    }
+
+    @Override
+    protected IOException logIOException(String configKey, Level logLevel, IOException ioe, long elapsedTime) {
+        Request request = pending.get();
+        pending.remove();
+        if (properties.isLogErrors()) {
+            errors.increment();
+            Entry entry = newEntry("ERROR", configKey, logLevel, request, elapsedTime);
+            entry.setException(ioe.getClass().getSimpleName() + ": " + ioe.getMessage());
+            enqueue(entry);
+        }
+        return ioe;
+    }
+
+    @Override
+    protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response, long elapsedTime) throws IOException {
+        Request request = pending.get();
+        pending.remove();
+        String reason = reason(response.status(), elapsedTime);
+        if (reason == null) {
+            return response;
+        }
+        Entry entry = newEntry(reason, configKey, logLevel, request, elapsedTime);
+        entry.setStatus(response.status());
+        if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+            entry.setResponseHeaders(response.headers());
+        }
+        if (logLevel == Level.FULL && response.body() != null) {
+            entry.setResponseBodyLength(response.body().length());
+            InputStream body = response.body().asInputStream();
+            byte[] prefix = readPrefix(body, properties.getMaxBodyBytes());
+            entry.setResponseBody(prefix);
+            response = response.toBuilder()
+                    .body(new SequenceInputStream(new ByteArrayInputStream(prefix), body), response.body().length())
+                    .build();
+        }
+        enqueue(entry);
+        return response;
+    }
+
+    /**
+     * 记录原因，不需要记录时返回null
+     */
+    private String reason(int status, long elapsedTime) {
+        if (properties.isLogErrors() && status >= 400) {
+            errors.increment();
+            return "ERROR";
+        }
+        if (elapsedTime >= properties.getSlowMillis()) {
+            slow.increment();
+            return "SLOW";
+        }
+        if (ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            sampled.increment();
+            return "SAMPLED";
+        }
+        return null;
+    }
+
+    private Entry newEntry(String reason, String configKey, Level logLevel, Request request, long elapsedTime) {
+        Entry entry = new Entry();
+        entry.setReason(reason);
+        entry.setConfigKey(configKey);
+        entry.setLevel(logLevel);
+        entry.setElapsedMillis(elapsedTime);
+        if (request != null) {
+            entry.setMethod(request.method());
+            entry.setUrl(request.url());
+            if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+                entry.setRequestHeaders(request.headers());
+            }
+            if (logLevel == Level.FULL && request.body() != null) {
+                byte[] body = request.body();
+                entry.setRequestBodyLength(body.length);
+                entry.setRequestBody(Arrays.copyOf(body, Math.min(body.length, properties.getMaxBodyBytes())));
+                entry.setRequestCharset(request.charset());
+            }
+        }
+        return entry;
+    }
+
+    private void enqueue(Entry entry) {
+        if (closed || !queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private static byte[] readPrefix(InputStream body, int max) throws IOException {
+        byte[] buffer = new byte[Math.max(0, max)];
+        int read = 0;
+        while (read < buffer.length) {
+            int n = body.read(buffer, read, buffer.length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read == buffer.length ? buffer : Arrays.copyOf(buffer, read);
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Entry entry = queue.poll(1L, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("SampledAsyncLogger drain,write failed,msg:{}", e.getMessage());
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        if (entry.getFormat() != null) {
+            log.info("[{}] {}", entry.getConfigKey(), String.format(entry.getFormat(), entry.getArgs()));
+            written.increment();
+            return;
+        }
+        StringBuilder builder = new StringBuilder(256);
+        builder.append('[').append(entry.getConfigKey()).append("] ").append(entry.getReason()).append(' ')
+                .append(entry.getMethod()).append(' ').append(entry.getUrl()).append(" <--- ");
+        if (entry.getException() != null) {
+            builder.append(entry.getException());
+        } else {
+            builder.append("HTTP/1.1 ").append(entry.getStatus());
+        }
+        builder.append(" (").append(entry.getElapsedMillis()).append("ms)");
+        if (entry.getRequestHeaders() != null) {
+            appendHeaders(builder.append("\n---> headers"), entry.getRequestHeaders());
+        }
+        if (entry.getRequestBody() != null) {
+            Charset charset = entry.getRequestCharset() == null ? StandardCharsets.UTF_8 : entry.getRequestCharset();
+            appendBody(builder.append("\n---> body"), entry.getRequestBody(), entry.getRequestBodyLength(), charset);
+        }
+        if (entry.getResponseHeaders() != null) {
+            appendHeaders(builder.append("\n<--- headers"), entry.getResponseHeaders());
+        }
+        if (entry.getResponseBody() != null) {
+            appendBody(builder.append("\n<--- body"), entry.getResponseBody(), entry.getResponseBodyLength(), StandardCharsets.UTF_8);
+        }
+        if ("ERROR".equals(entry.getReason())) {
+            log.warn(builder.toString());
+        } else {
+            log.info(builder.toString());
+        }
+        written.increment();
+    }
+
+    private static void appendHeaders(StringBuilder builder, Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                builder.append("\n  ").append(header.getKey()).append(": ").append(value);
+            }
+        }
+    }
+
+    private static void appendBody(StringBuilder builder, byte[] body, Integer length, Charset charset) {
+        builder.append(": ").append(new String(body, charset));
+        if (length == null || length > body.length) {
+            builder.append("...(truncated, ").append(length == null ? "unknown" : String.valueOf(length)).append(" bytes)");
+        }
+    }
+
+    /**
+     * 基类默认实现使用，本类重写了所有调用点，只在后台线程输出
+     */
+    @Override
+    protected void log(String configKey, String format, Object... args) {
+        Entry entry = new Entry();
+        entry.setConfigKey(configKey);
+        entry.setFormat(format);
+        entry.setArgs(args);
+        enqueue(entry);
+    }
+
+    public Stats getStats() {
+        Stats stats = new Stats();
+        stats.setSampled(sampled.sum());
+        stats.setErrors(errors.sum());
+        stats.setSlow(slow.sum());
+        stats.setDropped(dropped.sum());
+        stats.setWritten(written.sum());
+        stats.setQueueSize(queue.size());
+        return stats;
+    }
+
+    /**
+     * 停止接收日志，后台线程输出队列中剩余日志后退出
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Data
+    private static class Entry {
+
+        private String reason;
+
+        private String configKey;
+
+        private Level level;
+
+        private String method;
+
+        private String url;
+
+        private int status;
+
+        private String exception;
+
+        private long elapsedMillis;
+
+        private Map<String, Collection<String>> requestHeaders;
+
+        private byte[] requestBody;
+
+        private int requestBodyLength;
+
+        private Charset requestCharset;
+
+        private Map<String, Collection<String>> responseHeaders;
+
+        private byte[] responseBody;
+
+        private Integer responseBodyLength;
+
+        private String format;
+
+        private Object[] args;
+    }
+
+    @Data
+    public static class Stats {
+
+        /**
+         * 采样命中数
+         */
+        private long sampled;
+
+        private long errors;
+
+        private long slow;
+
+        /**
+         * 队列满被丢弃的日志数
+         */
+        private long dropped;
+
+        /**
+         * 已输出的日志数
+         */
+        private long written;
+
+        private long queueSize;
+    }
+}
@@ -0,0 +1,37 @@
+package com.jsako.feign.logging;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/8/8
+ * @Author LLJ
+ * @Description 采样异步日志配置，对应配置前缀 feign.scan.logging，loggerType为SampledLogger时生效
+ */
+@Data
+public class SampledLoggingProperties {
+
+    /**
+     * 正常调用的采样比例，取值[0,1]
+     */
+    private double sampleRate = 0.01D;
+
+    /**
+     * 耗时超过该值的调用全部记录，毫秒
+     */
+    private long slowMillis = 1000L;
+
+    /**
+     * 是否记录所有IO异常及状态码不小于400的调用
+     */
+    private boolean logErrors = true;
+
+    /**
+     * FULL级别下请求及响应体最多记录的字节数
+     */
+    private int maxBodyBytes = 1024;
+
+    /**
+     * 待输出日志队列容量，队列满时丢弃
+     */
+    private int queueCapacity = 1024;
+}
@@ -0,0 +1,67 @@
+package com.jsako.feign.manager;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @Date 2019/6/26
+ * @Author LLJ
+ * @Description Feign组件缓存，相同配置的FeignApi共享同一个不可变(或线程安全)组件实例
+ */
+public class FeignComponentCache {
+
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> components = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LongAdder> requests = new ConcurrentHashMap<>();
+
+    /**
+     * 获取组件，不存在时创建
+     *
+     * @param type    组件类型，如 options、retryer
+     * @param key     有效配置，需实现equals/hashCode
+     * @param factory 组件创建方法
+     * @return 组件实例
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C get(String type, Object key, Supplier<C> factory) {
+        requests.computeIfAbsent(type, t -> new LongAdder()).increment();
+        return (C) components.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> factory.get());
+    }
+
+    /**
+     * 生成组件复用报告
+     *
+     * @return key为组件类型
+     */
+    public Map<String, ComponentStats> report() {
+        Map<String, ComponentStats> report = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : requests.entrySet()) {
+            ComponentStats stats = new ComponentStats();
+            stats.setRequests(entry.getValue().sum());
+            stats.setInstances(components.getOrDefault(entry.getKey(), new ConcurrentHashMap<>()).size());
+            report.put(entry.getKey(), stats);
+        }
+        return report;
+    }
+
+    @Data
+    public static class ComponentStats {
+
+        /**
+         * 获取组件的次数，约等于使用该组件的FeignApi数量
+         */
+        private long requests;
+
+        /**
+         * 不同配置(实例)数量
+         */
+        private int instances;
+    }
+}
@@ -1,27 +1,119 @@
 package com.jsako.feign.manager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsako.feign.async.AsyncDecoder;
+import com.jsako.feign.async.AsyncExecutorProperties;
+import com.jsako.feign.async.VirtualThreads;
+import com.jsako.feign.batch.BatchRegistry;
+import com.jsako.feign.cache.ResponseCacheRegistry;
+import com.jsako.feign.circuit.CircuitBreakerProperties;
+import com.jsako.feign.circuit.CircuitBreakerRegistry;
+import com.jsako.feign.client.ApacheHttpClientFactory;
+import com.jsako.feign.client.ClientPoolProperties;
+import com.jsako.feign.client.DnsCache;
+import com.jsako.feign.client.Http2Properties;
+import com.jsako.feign.client.OkHttpClientFactory;
+import com.jsako.feign.codec.Codec;
+import com.jsako.feign.codec.CodecRegistry;
+import com.jsako.feign.codec.ContentTypes;
+import com.jsako.feign.codec.PooledJacksonEncoder;
+import com.jsako.feign.compress.CompressionRegistry;
+import com.jsako.feign.hedge.HedgeRegistry;
+import com.jsako.feign.limit.ConcurrencyLimitProperties;
+import com.jsako.feign.limit.ConcurrencyLimiterRegistry;
+import com.jsako.feign.loadbalance.EndpointRegistry;
+import com.jsako.feign.loadbalance.LeastInFlightStrategy;
+import com.jsako.feign.loadbalance.LoadBalanceProperties;
+import com.jsako.feign.loadbalance.LoadBalanceStrategy;
+import com.jsako.feign.loadbalance.PowerOfTwoChoicesStrategy;
+import com.jsako.feign.loadbalance.RoundRobinStrategy;
+import com.jsako.feign.metrics.FeignMetricsRegistry;
+import com.jsako.feign.metrics.MetricsRetryer;
+import com.jsako.feign.ratelimit.RateLimiterRegistry;
+import com.jsako.feign.refresh.FeignApiRefreshEvent;
+import com.jsako.feign.refresh.LiveConfigHolder;
+import com.jsako.feign.refresh.LiveConfigProperties;
+import com.jsako.feign.refresh.LiveConfigRegistry;
+import com.jsako.feign.retry.BackoffRetryer;
+import com.jsako.feign.retry.RetryBudgetRegistry;
+import com.jsako.feign.retry.RetryProperties;
+import com.jsako.feign.retry.RetrySettings;
+import com.jsako.feign.retry.RetryStatusErrorDecoder;
+import com.jsako.feign.scan.ClientEnum;
+import com.jsako.feign.scan.CodecEnum;
+import com.jsako.feign.stream.StreamingDecoder;
+import com.jsako.feign.scan.HeaderAttr;
+import com.jsako.feign.scan.HeadersRequestInterceptor;
+import com.jsako.feign.scan.LoadBalanceEnum;
+import com.jsako.feign.logging.SampledAsyncLogger;
+import com.jsako.feign.logging.SampledLoggingProperties;
 import com.jsako.feign.scan.LoggerEnum;
+import com.jsako.feign.warmup.FeignWarmer;
+import com.jsako.feign.warmup.WarmupProperties;
+import com.jsako.feign.warmup.WarmupReport;
+import com.jsako.feign.warmup.WarmupTarget;
+import feign.Client;
 import feign.Feign;
 import feign.Logger;
 import feign.Logger.JavaLogger;
 import feign.Logger.ErrorLogger;
 import feign.Logger.NoOpLogger;
 import feign.Request;
+import feign.RequestInterceptor;
 import feign.Retryer;
 import feign.auth.BasicAuthRequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.codec.ErrorDecoder;
 import feign.jackson.JacksonDecoder;
-import feign.jackson.JacksonEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Feign管理器，封装生成FeignBuilder逻辑
  */
-public class FeignManager {
+@Slf4j
+public class FeignManager implements DisposableBean, ApplicationListener<ApplicationEvent> {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * feign默认的HttpURLConnection客户端，无状态，可共享
+     */
+    private static final Client DEFAULT_CLIENT = new Client.Default(null, null);
+
+    /**
+     * Jackson编解码器线程安全，所有FeignApi共享
+     */
+    private static final Encoder ENCODER = new PooledJacksonEncoder(objectMapper);
+
+    private static final Decoder DECODER = new AsyncDecoder(new JacksonDecoder(objectMapper));
+
+    /**
+     * 支持Stream、Iterator、InputStream返回值的解码器，需配合doNotCloseAfterDecode使用
+     */
+    private static final Decoder STREAMING_DECODER = new AsyncDecoder(new StreamingDecoder(objectMapper, new JacksonDecoder(objectMapper)));
+
     /**
      * 默认读取过期时间
      */
@@ -37,11 +129,139 @@ public class FeignManager {
      */
     public static final int DEFAULT_RETRY_TIMES = 3;
 
+    /**
+     * 单个FeignApi可热更新配置的前缀，其后为接口全限定名
+     */
+    public static final String LIVE_CONFIG_PREFIX = "feign.scan.api.";
+
+    /**
+     * Spring Cloud刷新配置后发布的事件，不直接依赖Spring Cloud
+     */
+    private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+    /**
+     * 默认虚拟线程模式下单个FeignApi最大并发调用数
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_CALLS = 1000;
+
+    /**
+     * 未指定下游时使用的重试预算名
+     */
+    private static final String DEFAULT_RETRY_BUDGET = "default";
+
     /**
      * 默认FeignManager在spring容器中的BeanName
      */
     public static final String DEFAULT_FEIGN_MANAGER_DEF = "feignManager";
 
+    /**
+     * 连接池配置
+     */
+    private ClientPoolProperties pool = new ClientPoolProperties();
+
+    private volatile ApacheHttpClientFactory apacheHttpClientFactory;
+
+    /**
+     * HTTP/2客户端配置
+     */
+    private Http2Properties http2 = new Http2Properties();
+
+    private volatile OkHttpClientFactory okHttpClientFactory;
+
+    /**
+     * 异步方法默认线程池配置
+     */
+    private AsyncExecutorProperties async = new AsyncExecutorProperties();
+
+    private volatile ExecutorService asyncExecutor;
+
+    private volatile ExecutorService virtualThreadExecutor;
+
+    private volatile ExecutorService hedgeExecutor;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * 是否记录FeignApi调用指标
+     */
+    private boolean metricsEnabled = true;
+
+    private final FeignMetricsRegistry metricsRegistry = new FeignMetricsRegistry();
+
+    /**
+     * 相同配置的FeignApi共享组件实例
+     */
+    private final FeignComponentCache componentCache = new FeignComponentCache();
+
+    private final ResponseCacheRegistry responseCacheRegistry = new ResponseCacheRegistry();
+
+    private final HedgeRegistry hedgeRegistry = new HedgeRegistry();
+
+    private final CompressionRegistry compressionRegistry = new CompressionRegistry();
+
+    private final BatchRegistry batchRegistry = new BatchRegistry();
+
+    private final RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry();
+
+    private final CodecRegistry codecRegistry = new CodecRegistry(objectMapper,
+            new Codec(ContentTypes.JSON, ENCODER, DECODER, STREAMING_DECODER, null));
+
+    /**
+     * 负载均衡及节点摘除配置
+     */
+    private LoadBalanceProperties loadBalance = new LoadBalanceProperties();
+
+    private final EndpointRegistry endpointRegistry = new EndpointRegistry();
+
+    /**
+     * 自适应并发限制配置
+     */
+    private ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+
+    private volatile ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    /**
+     * 重试预算配置
+     */
+    private RetryProperties retry = new RetryProperties();
+
+    private volatile RetryBudgetRegistry retryBudgetRegistry;
+
+    /**
+     * 熔断器配置
+     */
+    private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    private volatile CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /**
+     * 可热更新配置
+     */
+    private LiveConfigProperties liveConfig = new LiveConfigProperties();
+
+    private final LiveConfigRegistry liveConfigRegistry = new LiveConfigRegistry();
+
+    private volatile ScheduledFuture<?> liveConfigPoller;
+
+    /**
+     * 启动预热配置
+     */
+    private WarmupProperties warmup = new WarmupProperties();
+
+    private final Queue<WarmupTarget> warmupTargets = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+
+    private volatile WarmupReport warmupReport;
+
+    private volatile DnsCache dnsCache;
+
+    /**
+     * 采样异步日志配置
+     */
+    private SampledLoggingProperties logging = new SampledLoggingProperties();
+
+    private volatile SampledAsyncLogger sampledLogger;
 
     /**
      * 支持BaseAuth
@@ -64,32 +284,606 @@ public class FeignManager {
 
     public Feign.Builder getFeignBuilder(int readTimeout, int retryTimes, String username, String password, LoggerEnum loggerType) {
 
-        Request.Options options = new Request.Options(DEFAULT_CONNECTION_TIMEOUT, readTimeout);
-        Retryer.Default retries = new Retryer.Default(100L, TimeUnit.SECONDS.toMillis(10L), retryTimes);
+        //Options不可变；Retryer在每次调用时clone，共享的只是原型
+        Request.Options options = getOptions(DEFAULT_CONNECTION_TIMEOUT, readTimeout);
+        RetrySettings retrySettings = RetrySettings.of(retryTimes);
+        Logger logger = componentCache.get("logger", loggerType, () -> buildLogger(loggerType));
 
         Feign.Builder builder = Feign.builder()
-                .logger(buildLogger(loggerType))
+                .logger(logger)
                 .options(options)
-                .retryer(retries)
-                .decoder(new JacksonDecoder(objectMapper))
-                .encoder(new JacksonEncoder(objectMapper));
+                .retryer(getRetryer(retrySettings, DEFAULT_RETRY_BUDGET))
+                .errorDecoder(getErrorDecoder(retrySettings.getStatusCodes()))
+                .decoder(DECODER)
+                .encoder(ENCODER);
 
         if (null != username && null != password) {
-            builder.requestInterceptor(new BasicAuthRequestInterceptor(username, password));
+            builder.requestInterceptor(getBasicAuthInterceptor(username, password));
         }
 
         return builder;
     }
 
+    /**
+     * 获取超时配置，相同超时共享实例
+     *
+     * @param connectTimeout 连接超时，毫秒
+     * @param readTimeout    读取超时，毫秒
+     * @return Request.Options
+     */
+    public Request.Options getOptions(int connectTimeout, int readTimeout) {
+        return componentCache.get("options", Arrays.asList(connectTimeout, readTimeout),
+                () -> new Request.Options(connectTimeout, readTimeout));
+    }
+
+    /**
+     * 获取BasicAuth拦截器，相同用户名密码共享实例
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @return RequestInterceptor
+     */
+    public RequestInterceptor getBasicAuthInterceptor(String username, String password) {
+        return componentCache.get("basicAuth", Arrays.asList(username, password),
+                () -> new BasicAuthRequestInterceptor(username, password));
+    }
+
+    /**
+     * 获取带重试预算的指数退避重试器原型，Feign在每次调用时clone
+     *
+     * @param settings 重试配置
+     * @param target   下游标识，相同下游且预算比例相同的FeignApi共享重试预算
+     * @return Retryer
+     */
+    public Retryer getRetryer(RetrySettings settings, String target) {
+        return componentCache.get("retryer", Arrays.asList(settings, target),
+                () -> new MetricsRetryer(new BackoffRetryer(settings, getRetryBudgetRegistry().get(target, settings.getBudgetPercent()))));
+    }
+
+    /**
+     * 获取编解码器，二进制格式首次使用时创建
+     *
+     * @param codecType 数据格式
+     * @return Codec
+     */
+    public Codec getCodec(CodecEnum codecType) {
+        return codecRegistry.getCodec(codecType);
+    }
+
+    /**
+     * 获取将幂等请求的指定状态码转换为可重试异常的ErrorDecoder
+     *
+     * @param statusCodes 可重试的状态码
+     * @return ErrorDecoder
+     */
+    public ErrorDecoder getErrorDecoder(int[] statusCodes) {
+        int[] codes = statusCodes.clone();
+        Arrays.sort(codes);
+        return componentCache.get("errorDecoder", Arrays.toString(codes), () -> new RetryStatusErrorDecoder(codes));
+    }
+
+    /**
+     * 重试预算注册表，可查询各下游重试已用及被拒绝次数，首次调用时按当前配置创建
+     *
+     * @return RetryBudgetRegistry
+     */
+    public RetryBudgetRegistry getRetryBudgetRegistry() {
+        if (retryBudgetRegistry == null) {
+            synchronized (this) {
+                if (retryBudgetRegistry == null) {
+                    retryBudgetRegistry = new RetryBudgetRegistry(retry);
+                }
+            }
+        }
+        return retryBudgetRegistry;
+    }
+
+    /**
+     * 熔断器及隔离舱注册表，可查询状态并注册状态变化监听器，首次调用时按当前配置创建
+     *
+     * @return CircuitBreakerRegistry
+     */
+    public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+        if (circuitBreakerRegistry == null) {
+            synchronized (this) {
+                if (circuitBreakerRegistry == null) {
+                    circuitBreakerRegistry = new CircuitBreakerRegistry(circuitBreaker);
+                }
+            }
+        }
+        return circuitBreakerRegistry;
+    }
+
+    public CircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerProperties circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public RetryProperties getRetry() {
+        return retry;
+    }
+
+    public void setRetry(RetryProperties retry) {
+        this.retry = retry;
+    }
+
+    /**
+     * 获取添加固定请求头的拦截器，header完全相同的FeignApi共享同一实例
+     *
+     * @param headers 已解析的header
+     * @return RequestInterceptor
+     */
+    public RequestInterceptor getHeadersInterceptor(HeaderAttr[] headers) {
+        return componentCache.get("headers", Arrays.asList(headers), () -> new HeadersRequestInterceptor(headers));
+    }
+
+    /**
+     * 组件复用报告，key为组件类型(options、retryer、errorDecoder、logger、basicAuth、headers)
+     *
+     * @return 每种组件被获取的次数及实际实例数
+     */
+    public Map<String, FeignComponentCache.ComponentStats> getComponentReport() {
+        return componentCache.report();
+    }
+
     public Logger buildLogger(LoggerEnum loggerType) {
         switch (loggerType) {
             case JavaLogger:
                 return new JavaLogger();
             case ErrorLogger:
                 return new ErrorLogger();
+            case SampledLogger:
+                return getSampledLogger();
             default:
                 return new NoOpLogger();
         }
     }
 
+    /**
+     * 获取采样异步日志器，所有loggerType为SampledLogger的FeignApi共用一个后台输出线程
+     *
+     * @return SampledAsyncLogger
+     */
+    public SampledAsyncLogger getSampledLogger() {
+        if (sampledLogger == null) {
+            synchronized (this) {
+                if (sampledLogger == null) {
+                    sampledLogger = new SampledAsyncLogger(logging);
+                }
+            }
+        }
+        return sampledLogger;
+    }
+
+    /**
+     * 根据负载均衡类型创建策略，每个FeignApi一个实例
+     *
+     * @param loadBalanceType 负载均衡类型
+     * @return LoadBalanceStrategy
+     */
+    public LoadBalanceStrategy buildLoadBalanceStrategy(LoadBalanceEnum loadBalanceType) {
+        switch (loadBalanceType) {
+            case LeastInFlight:
+                return new LeastInFlightStrategy();
+            case PowerOfTwoChoices:
+                return new PowerOfTwoChoicesStrategy();
+            default:
+                return new RoundRobinStrategy();
+        }
+    }
+
+    /**
+     * 根据客户端类型获取Feign客户端，池化的客户端在同一FeignManager内共享，相同host的FeignApi共用连接
+     *
+     * @param clientType 客户端类型
+     * @return Client
+     */
+    public Client getClient(ClientEnum clientType) {
+        switch (clientType) {
+            case ApacheHttpClient:
+                return getApacheHttpClientFactory().getClient();
+            case Http2:
+                return getOkHttpClientFactory().getClient();
+            default:
+                return DEFAULT_CLIENT;
+        }
+    }
+
+    /**
+     * 开启预热且dnsCacheTtlMillis大于0时获取DNS缓存，否则返回null
+     *
+     * @return DnsCache
+     */
+    public DnsCache getDnsCache() {
+        if (!warmup.isEnabled() || warmup.getDnsCacheTtlMillis() <= 0) {
+            return null;
+        }
+        if (dnsCache == null) {
+            synchronized (this) {
+                if (dnsCache == null) {
+                    dnsCache = new DnsCache(warmup.getDnsCacheTtlMillis());
+                }
+            }
+        }
+        return dnsCache;
+    }
+
+    private ApacheHttpClientFactory getApacheHttpClientFactory() {
+        if (apacheHttpClientFactory == null) {
+            synchronized (this) {
+                if (apacheHttpClientFactory == null) {
+                    apacheHttpClientFactory = new ApacheHttpClientFactory(pool, getDnsCache());
+                }
+            }
+        }
+        return apacheHttpClientFactory;
+    }
+
+    private OkHttpClientFactory getOkHttpClientFactory() {
+        if (okHttpClientFactory == null) {
+            synchronized (this) {
+                if (okHttpClientFactory == null) {
+                    okHttpClientFactory = new OkHttpClientFactory(http2, getDnsCache());
+                }
+            }
+        }
+        return okHttpClientFactory;
+    }
+
+    /**
+     * 获取返回CompletableFuture的FeignApi方法默认使用的线程池，首次调用时创建
+     *
+     * @return ExecutorService
+     */
+    public ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized (this) {
+                if (asyncExecutor == null) {
+                    asyncExecutor = buildAsyncExecutor();
+                }
+            }
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * 获取虚拟线程执行器，每个任务一个虚拟线程；当前JVM不支持虚拟线程时退化为默认异步线程池
+     *
+     * @return ExecutorService
+     */
+    public ExecutorService getVirtualThreadExecutor() {
+        if (!VirtualThreads.isSupported()) {
+            log.warn("FeignManager getVirtualThreadExecutor,virtual threads are not supported by current JVM,fallback to async executor");
+            return getAsyncExecutor();
+        }
+        if (virtualThreadExecutor == null) {
+            synchronized (this) {
+                if (virtualThreadExecutor == null) {
+                    virtualThreadExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+                }
+            }
+        }
+        return virtualThreadExecutor;
+    }
+
+    /**
+     * 获取对冲请求专用线程池，首次调用时创建；不排队，线程数达到hedgeMaxSize时拒绝，由调用方放弃本次对冲
+     * 虚拟线程模式下对冲请求使用虚拟线程执行器
+     *
+     * @return ExecutorService
+     */
+    public ExecutorService getHedgeExecutor() {
+        if (hedgeExecutor == null) {
+            synchronized (this) {
+                if (hedgeExecutor == null) {
+                    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("feign-hedge-");
+                    threadFactory.setDaemon(true);
+                    hedgeExecutor = new ThreadPoolExecutor(0, Math.max(1, async.getHedgeMaxSize()), async.getKeepAliveMillis(),
+                            TimeUnit.MILLISECONDS, new SynchronousQueue<>(), threadFactory);
+                }
+            }
+        }
+        return hedgeExecutor;
+    }
+
+    /**
+     * 获取共享的定时线程，首次调用时创建，用于FeignBatch等待窗口、限流AsyncWait模式及触发对冲请求，只负责触发，不执行阻塞调用
+     *
+     * @return ScheduledExecutorService
+     */
+    public ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            synchronized (this) {
+                if (scheduler == null) {
+                    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("feign-scheduler-");
+                    threadFactory.setDaemon(true);
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+                    executor.setRemoveOnCancelPolicy(true);
+                    scheduler = executor;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * 核心线程数与最大线程数相同并允许核心线程超时回收，线程数未达到maxSize时新任务直接新建线程，达到后才进入队列
+     * LinkedBlockingQueue只在队列满后才会新建超过核心线程数的线程，阻塞的HTTP调用会在队列中等待
+     */
+    protected ExecutorService buildAsyncExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(async.getThreadNamePrefix());
+        threadFactory.setDaemon(true);
+        int size = Math.max(1, async.getMaxSize());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, async.getKeepAliveMillis(), TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(async.getQueueCapacity()), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * FeignApi调用指标注册表
+     *
+     * @return FeignMetricsRegistry
+     */
+    public FeignMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    /**
+     * 响应缓存注册表，可查询各方法缓存命中统计
+     *
+     * @return ResponseCacheRegistry
+     */
+    public ResponseCacheRegistry getResponseCacheRegistry() {
+        return responseCacheRegistry;
+    }
+
+    /**
+     * 对冲策略注册表，可查询各方法对冲请求数、对冲成功数及当前对冲等待时间
+     *
+     * @return HedgeRegistry
+     */
+    public HedgeRegistry getHedgeRegistry() {
+        return hedgeRegistry;
+    }
+
+    /**
+     * 批量合并统计注册表，可查询各FeignBatch方法的批次数、平均批大小及按大小/窗口发送的次数
+     *
+     * @return BatchRegistry
+     */
+    public BatchRegistry getBatchRegistry() {
+        return batchRegistry;
+    }
+
+    /**
+     * 令牌桶注册表，可查询各FeignApi或下游host的令牌获取、等待时间分布及拒绝次数
+     *
+     * @return RateLimiterRegistry
+     */
+    public RateLimiterRegistry getRateLimiterRegistry() {
+        return rateLimiterRegistry;
+    }
+
+    /**
+     * 可热更新配置注册表，可查询各FeignApi当前生效的地址、超时、重试次数及请求头
+     *
+     * @return LiveConfigRegistry
+     */
+    public LiveConfigRegistry getLiveConfigRegistry() {
+        return liveConfigRegistry;
+    }
+
+    /**
+     * 注册开启liveConfig的FeignApi配置，配置了刷新间隔时首次注册启动定时刷新
+     *
+     * @param holder FeignApi配置
+     */
+    public void registerLiveConfig(LiveConfigHolder holder) {
+        liveConfigRegistry.register(holder);
+        long interval = liveConfig.getRefreshIntervalMillis();
+        if (interval > 0 && liveConfigPoller == null) {
+            synchronized (this) {
+                if (liveConfigPoller == null) {
+                    liveConfigPoller = getScheduler().scheduleWithFixedDelay(this::refreshLiveConfigs, interval, interval, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从Environment重新读取所有开启liveConfig的FeignApi配置，变化的配置原子替换，不重建代理
+     *
+     * @return 配置发生变化的FeignApi个数
+     */
+    public int refreshLiveConfigs() {
+        if (liveConfigRegistry.isEmpty()) {
+            return 0;
+        }
+        int changed = liveConfigRegistry.refreshAll();
+        log.debug("FeignManager refreshLiveConfigs,changed:{}", changed);
+        return changed;
+    }
+
+    /**
+     * 注册需要预热的FeignApi，FeignApi创建时调用
+     *
+     * @param target 预热目标
+     */
+    public void registerWarmupTarget(WarmupTarget target) {
+        warmupTargets.add(target);
+    }
+
+    /**
+     * 预热已注册的FeignApi，开启预热时在容器刷新完成后自动执行一次
+     *
+     * @return 预热结果
+     */
+    public WarmupReport warmUp() {
+        List<WarmupTarget> targets = new ArrayList<>(warmupTargets);
+        WarmupReport report = new FeignWarmer(warmup, getDnsCache()).warmUp(targets);
+        long failed = report.getResults().stream().filter(result -> result.getError() != null).count();
+        log.info("FeignManager warmUp,targets:{},failed:{},costMillis:{}", targets.size(), failed, report.getTotalMillis());
+        for (WarmupReport.Result result : report.getResults()) {
+            log.debug("FeignManager warmUp,result:{}", result);
+        }
+        warmupReport = report;
+        return report;
+    }
+
+    /**
+     * 最近一次预热结果，未预热时为null
+     *
+     * @return WarmupReport
+     */
+    public WarmupReport getWarmupReport() {
+        return warmupReport;
+    }
+
+    /**
+     * 收到FeignApiRefreshEvent或Spring Cloud的EnvironmentChangeEvent时刷新配置，首次容器刷新完成时预热
+     */
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof FeignApiRefreshEvent || ENVIRONMENT_CHANGE_EVENT.equals(event.getClass().getName())) {
+            refreshLiveConfigs();
+        } else if (event instanceof ContextRefreshedEvent && warmup.isEnabled() && warmedUp.compareAndSet(false, true)) {
+            warmUp();
+        }
+    }
+
+    /**
+     * 压缩统计注册表，可查询各FeignApi请求及响应的压缩率和压缩耗时
+     *
+     * @return CompressionRegistry
+     */
+    public CompressionRegistry getCompressionRegistry() {
+        return compressionRegistry;
+    }
+
+    /**
+     * 节点注册表，可查询各节点进行中请求数、延迟及摘除状态
+     *
+     * @return EndpointRegistry
+     */
+    public EndpointRegistry getEndpointRegistry() {
+        return endpointRegistry;
+    }
+
+    /**
+     * 自适应并发限制注册表，可查询各host当前限制及拒绝次数，首次调用时按当前配置创建
+     *
+     * @return ConcurrencyLimiterRegistry
+     */
+    public ConcurrencyLimiterRegistry getConcurrencyLimiterRegistry() {
+        if (concurrencyLimiterRegistry == null) {
+            synchronized (this) {
+                if (concurrencyLimiterRegistry == null) {
+                    concurrencyLimiterRegistry = new ConcurrencyLimiterRegistry(concurrencyLimit);
+                }
+            }
+        }
+        return concurrencyLimiterRegistry;
+    }
+
+    public SampledLoggingProperties getLogging() {
+        return logging;
+    }
+
+    public void setLogging(SampledLoggingProperties logging) {
+        this.logging = logging;
+    }
+
+    public WarmupProperties getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(WarmupProperties warmup) {
+        this.warmup = warmup;
+    }
+
+    public LiveConfigProperties getLiveConfig() {
+        return liveConfig;
+    }
+
+    public void setLiveConfig(LiveConfigProperties liveConfig) {
+        this.liveConfig = liveConfig;
+    }
+
+    public ConcurrencyLimitProperties getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public LoadBalanceProperties getLoadBalance() {
+        return loadBalance;
+    }
+
+    public void setLoadBalance(LoadBalanceProperties loadBalance) {
+        this.loadBalance = loadBalance;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public ClientPoolProperties getPool() {
+        return pool;
+    }
+
+    public void setPool(ClientPoolProperties pool) {
+        this.pool = pool;
+    }
+
+    public Http2Properties getHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(Http2Properties http2) {
+        this.http2 = http2;
+    }
+
+    public AsyncExecutorProperties getAsync() {
+        return async;
+    }
+
+    public void setAsync(AsyncExecutorProperties async) {
+        this.async = async;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdown();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (apacheHttpClientFactory != null) {
+            apacheHttpClientFactory.close();
+        }
+        if (okHttpClientFactory != null) {
+            okHttpClientFactory.close();
+        }
+        if (sampledLogger != null) {
+            sampledLogger.close();
+        }
+    }
+
 }
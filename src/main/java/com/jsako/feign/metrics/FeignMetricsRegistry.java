@@ -0,0 +1,85 @@
+package com.jsako.feign.metrics;
+
+import feign.Feign;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/6/17
+ * @Author LLJ
+ * @Description FeignApi调用指标注册表，按FeignApi接口名及方法configKey查询
+ */
+public class FeignMetricsRegistry {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, MethodMetrics>> clients = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建方法指标，在生成代理时调用
+     *
+     * @param targetType FeignApi接口
+     * @param method     接口方法
+     * @return MethodMetrics
+     */
+    public MethodMetrics getOrCreate(Class<?> targetType, Method method) {
+        String configKey = Feign.configKey(targetType, method);
+        return clients.computeIfAbsent(targetType.getName(), name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(configKey, MethodMetrics::new);
+    }
+
+    /**
+     * 已注册指标的FeignApi接口名
+     */
+    public Set<String> getClientNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(clients.keySet()));
+    }
+
+    /**
+     * 查询某个FeignApi接口所有方法的指标快照
+     *
+     * @param clientName FeignApi接口全限定名
+     * @return 快照列表，接口未注册时返回空列表
+     */
+    public List<MethodMetricsSnapshot> getSnapshots(String clientName) {
+        Map<String, MethodMetrics> methods = clients.get(clientName);
+        if (methods == null) {
+            return Collections.emptyList();
+        }
+        List<MethodMetricsSnapshot> snapshots = new ArrayList<>(methods.size());
+        for (MethodMetrics metrics : methods.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * 查询单个方法的指标
+     *
+     * @param clientName FeignApi接口全限定名
+     * @param configKey  方法configKey，如 UserApi#get(String)
+     * @return MethodMetrics，不存在时返回null
+     */
+    public MethodMetrics getMethodMetrics(String clientName, String configKey) {
+        Map<String, MethodMetrics> methods = clients.get(clientName);
+        return methods == null ? null : methods.get(configKey);
+    }
+
+    /**
+     * 所有FeignApi的指标快照
+     */
+    public Map<String, List<MethodMetricsSnapshot>> getAllSnapshots() {
+        Map<String, List<MethodMetricsSnapshot>> all = new TreeMap<>();
+        for (String clientName : clients.keySet()) {
+            all.put(clientName, getSnapshots(clientName));
+        }
+        return all;
+    }
+}
@@ -0,0 +1,83 @@
+package com.jsako.feign.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/6/17
+ * @Author LLJ
+ * @Description 单个FeignApi方法的调用指标，在生成代理时创建，调用路径上只做计数
+ */
+public class MethodMetrics {
+
+    private final String configKey;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public MethodMetrics(String configKey) {
+        this.configKey = configKey;
+    }
+
+    /**
+     * 调用开始
+     *
+     * @return 开始时间，纳秒
+     */
+    public long onStart() {
+        calls.increment();
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * 调用结束
+     *
+     * @param startNanos onStart返回的开始时间
+     * @param success    是否成功
+     */
+    public void onComplete(long startNanos, boolean success) {
+        latency.recordNanos(System.nanoTime() - startNanos);
+        inFlight.decrement();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void onRetry() {
+        retries.increment();
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * 生成当前指标快照
+     */
+    public MethodMetricsSnapshot snapshot() {
+        MethodMetricsSnapshot snapshot = new MethodMetricsSnapshot();
+        snapshot.setConfigKey(configKey);
+        snapshot.setCalls(calls.sum());
+        snapshot.setErrors(errors.sum());
+        snapshot.setRetries(retries.sum());
+        snapshot.setInFlight(inFlight.sum());
+        snapshot.setMeanMicros(latency.getMeanMicros());
+        snapshot.setP50Micros(latency.percentile(50));
+        snapshot.setP90Micros(latency.percentile(90));
+        snapshot.setP99Micros(latency.percentile(99));
+        snapshot.setP999Micros(latency.percentile(99.9));
+        snapshot.setMaxMicros(latency.getMaxMicros());
+        return snapshot;
+    }
+}
@@ -0,0 +1,34 @@
+package com.jsako.feign.metrics;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/6/17
+ * @Author LLJ
+ * @Description 单个FeignApi方法的指标快照，延迟单位微秒
+ */
+@Data
+public class MethodMetricsSnapshot {
+
+    private String configKey;
+
+    private long calls;
+
+    private long errors;
+
+    private long retries;
+
+    private long inFlight;
+
+    private double meanMicros;
+
+    private long p50Micros;
+
+    private long p90Micros;
+
+    private long p99Micros;
+
+    private long p999Micros;
+
+    private long maxMicros;
+}
@@ -0,0 +1,39 @@
+package com.jsako.feign.metrics;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+
+/**
+ * @Date 2019/6/17
+ * @Author LLJ
+ * @Description 记录调用次数、错误次数、并发数及延迟，重试次数由RetryMetricsMethodHandlerDecorator在内层暴露给MetricsRetryer
+ */
+public class MetricsMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final FeignMetricsRegistry registry;
+
+    public MetricsMethodHandlerDecorator(FeignMetricsRegistry registry) {
+        Assert.notNull(registry, "MetricsMethodHandlerDecorator registry could not be null");
+        this.registry = registry;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        MethodMetrics metrics = registry.getOrCreate(target.type(), method);
+        return argv -> {
+            long start = metrics.onStart();
+            boolean success = false;
+            try {
+                Object result = handler.invoke(argv);
+                success = true;
+                return result;
+            } finally {
+                metrics.onComplete(start, success);
+            }
+        };
+    }
+}
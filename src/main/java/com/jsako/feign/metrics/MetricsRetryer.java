@@ -0,0 +1,34 @@
+package com.jsako.feign.metrics;
+
+import feign.RetryableException;
+import feign.Retryer;
+import org.springframework.util.Assert;
+
+/**
+ * @Date 2019/6/17
+ * @Author LLJ
+ * @Description 包装Retryer，每次决定重试时累加当前方法的重试次数
+ */
+public class MetricsRetryer implements Retryer {
+
+    private final Retryer delegate;
+
+    public MetricsRetryer(Retryer delegate) {
+        Assert.notNull(delegate, "MetricsRetryer delegate could not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        delegate.continueOrPropagate(e);
+        MethodMetrics metrics = RetryMetricsMethodHandlerDecorator.current();
+        if (metrics != null) {
+            metrics.onRetry();
+        }
+    }
+
+    @Override
+    public Retryer clone() {
+        return new MetricsRetryer(delegate.clone());
+    }
+}
@@ -0,0 +1,49 @@
+package com.jsako.feign.metrics;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+
+/**
+ * @Date 2019/6/17
+ * @Author LLJ
+ * @Description 在调用期间暴露当前方法指标，供MetricsRetryer记录重试次数
+ * 位于调用链最内层，与Retryer在同一线程中执行，对冲、异步等切换线程的包装不影响重试统计
+ */
+public class RetryMetricsMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private static final ThreadLocal<MethodMetrics> CURRENT = new ThreadLocal<>();
+
+    private final FeignMetricsRegistry registry;
+
+    public RetryMetricsMethodHandlerDecorator(FeignMetricsRegistry registry) {
+        Assert.notNull(registry, "RetryMetricsMethodHandlerDecorator registry could not be null");
+        this.registry = registry;
+    }
+
+    /**
+     * 当前线程正在执行的FeignApi方法指标
+     *
+     * @return MethodMetrics，不在调用中时返回null
+     */
+    static MethodMetrics current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        MethodMetrics metrics = registry.getOrCreate(target.type(), method);
+        return argv -> {
+            MethodMetrics previous = CURRENT.get();
+            CURRENT.set(metrics);
+            try {
+                return handler.invoke(argv);
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+}
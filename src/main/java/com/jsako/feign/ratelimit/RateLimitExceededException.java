@@ -0,0 +1,13 @@
+package com.jsako.feign.ratelimit;
+
+/**
+ * @Date 2019/7/29
+ * @Author LLJ
+ * @Description 令牌不足且不能在最长等待时间内获得，请求未发出被直接拒绝，不记录调用栈
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    public RateLimitExceededException(String name, double permitsPerSecond) {
+        super("RateLimitExceededException name:" + name + ",permitsPerSecond:" + permitsPerSecond, null, false, false);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jsako.feign.ratelimit;
+
+import com.jsako.feign.async.AsyncDecoder;
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/7/29
+ * @Author LLJ
+ * @Description AsyncWait模式下返回CompletableFuture的方法在令牌不足时不占用线程，由定时线程到达令牌时间后再发起调用
+ * 位于异步包装外层，调用时预约令牌，并发调用各自在预约到的时间发起，到达时间后作为预付令牌交给RateLimitingClient的第一次HTTP请求；
+ * 同步方法不做处理
+ */
+public class RateLimitMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final TokenBucket bucket;
+
+    private final long maxWaitNanos;
+
+    private final ScheduledExecutorService scheduler;
+
+    public RateLimitMethodHandlerDecorator(TokenBucket bucket, long maxWaitMillis, ScheduledExecutorService scheduler) {
+        Assert.notNull(bucket, "RateLimitMethodHandlerDecorator bucket could not be null");
+        Assert.notNull(scheduler, "RateLimitMethodHandlerDecorator scheduler could not be null");
+        this.bucket = bucket;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWaitMillis));
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (!AsyncDecoder.isAsyncType(method.getReturnType())) {
+            return handler;
+        }
+        return argv -> {
+            long wait = bucket.reserve(maxWaitNanos);
+            if (wait < 0L) {
+                CompletableFuture<Object> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new RateLimitExceededException(bucket.getName(), bucket.getPermitsPerSecond()));
+                return rejected;
+            }
+            if (wait == 0L) {
+                bucket.prepay();
+                return handler.invoke(argv);
+            }
+            return delay(handler, argv, wait);
+        };
+    }
+
+    /**
+     * 到达预约的令牌时间后在定时线程中调用内层异步方法，内层立即返回future，不阻塞定时线程
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> delay(MethodHandler handler, Object[] argv, long wait) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Runnable call = () -> {
+            bucket.prepay();
+            try {
+                ((CompletableFuture<Object>) handler.invoke(argv)).whenComplete((value, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            scheduler.schedule(call, wait, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
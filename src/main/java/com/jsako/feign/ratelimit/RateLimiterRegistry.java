@@ -0,0 +1,42 @@
+package com.jsako.feign.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/29
+ * @Author LLJ
+ * @Description 令牌桶注册表，按FeignApi接口名或下游host区分，以host为名称时同一host的FeignApi共享配额
+ */
+@Slf4j
+public class RateLimiterRegistry {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 获取令牌桶，已存在时沿用首次创建时的速率
+     */
+    public TokenBucket getOrCreate(String name, double permitsPerSecond, int burst) {
+        TokenBucket bucket = buckets.computeIfAbsent(name, n -> new TokenBucket(n, permitsPerSecond, burst));
+        if (Double.compare(bucket.getPermitsPerSecond(), permitsPerSecond) != 0) {
+            log.warn("RateLimiterRegistry getOrCreate,shared rate limit mismatch,name:{},used:{},ignored:{}",
+                    name, bucket.getPermitsPerSecond(), permitsPerSecond);
+        }
+        return bucket;
+    }
+
+    /**
+     * 各令牌桶的获取、等待及拒绝统计
+     */
+    public Map<String, TokenBucket.Snapshot> getSnapshots() {
+        Map<String, TokenBucket.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,55 @@
+package com.jsako.feign.ratelimit;
+
+import com.jsako.feign.scan.RateLimitEnum;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/7/29
+ * @Author LLJ
+ * @Description 每次HTTP请求前从令牌桶获取令牌，Feign重试及对冲请求同样消耗令牌，实际发出的请求数不超过配额
+ * FailFast模式令牌不足时直接拒绝，Block及AsyncWait模式在当前线程中最多等待maxWaitMillis
+ * AsyncWait模式下异步方法已预约的令牌由第一次HTTP请求直接使用，重试时再重新获取
+ */
+public class RateLimitingClient implements Client {
+
+    private final Client delegate;
+
+    private final TokenBucket bucket;
+
+    private final long maxWaitNanos;
+
+    public RateLimitingClient(Client delegate, TokenBucket bucket, RateLimitEnum mode, long maxWaitMillis) {
+        Assert.notNull(delegate, "RateLimitingClient delegate could not be null");
+        Assert.notNull(bucket, "RateLimitingClient bucket could not be null");
+        Assert.isTrue(mode != RateLimitEnum.Inherit, "RateLimitingClient mode could not be Inherit");
+        this.delegate = delegate;
+        this.bucket = bucket;
+        this.maxWaitNanos = mode == RateLimitEnum.FailFast ? 0L : TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWaitMillis));
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (bucket.tryUsePrepaid()) {
+            return delegate.execute(request, options);
+        }
+        long wait = bucket.reserve(maxWaitNanos);
+        if (wait < 0L) {
+            throw new RateLimitExceededException(bucket.getName(), bucket.getPermitsPerSecond());
+        }
+        if (wait > 0L) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException(bucket.getName(), bucket.getPermitsPerSecond());
+            }
+        }
+        return delegate.execute(request, options);
+    }
+}
@@ -0,0 +1,160 @@
+package com.jsako.feign.ratelimit;
+
+import com.jsako.feign.metrics.LatencyHistogram;
+import lombok.Data;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/29
+ * @Author LLJ
+ * @Description 无锁令牌桶，以GCRA形式实现：只保存下一个令牌的理论到达时间，获取令牌为一次CAS
+ * 桶满时可连续获取burst个令牌，之后每1/permitsPerSecond秒产生一个；获取时预约令牌并返回需要等待的时间
+ */
+public class TokenBucket {
+
+    private final String name;
+
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    /**
+     * 理论到达时间，不早于该时间减burstNanos的调用可立即获得令牌
+     */
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * AsyncWait模式下已由调用方预约并等待过的令牌数
+     */
+    private final AtomicInteger prepaid = new AtomicInteger();
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder delayed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LatencyHistogram waitHistogram = new LatencyHistogram();
+
+    public TokenBucket(String name, double permitsPerSecond, int burst) {
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1L) / permitsPerSecond));
+        this.burstNanos = intervalNanos * this.burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @param maxWaitNanos 最长等待时间，0表示只在有可用令牌时获取
+     * @return 获得令牌前需等待的纳秒数，不能在maxWaitNanos内获得时返回-1且不消耗令牌
+     */
+    public long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        for (; ; ) {
+            long current = theoreticalArrival.get();
+            long next = (current - now > 0L ? current : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                rejected.increment();
+                return -1L;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                wait = Math.max(0L, wait);
+                acquired.increment();
+                if (wait > 0L) {
+                    delayed.increment();
+                }
+                waitHistogram.recordNanos(wait);
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * 记录一个已预约且已到达时间的令牌，由之后的第一次HTTP请求直接使用，不超过burst个
+     */
+    public void prepay() {
+        prepaid.updateAndGet(count -> Math.min(burst, count + 1));
+    }
+
+    /**
+     * 使用一个预付令牌
+     *
+     * @return 存在预付令牌时返回true
+     */
+    public boolean tryUsePrepaid() {
+        for (; ; ) {
+            int count = prepaid.get();
+            if (count <= 0) {
+                return false;
+            }
+            if (prepaid.compareAndSet(count, count - 1)) {
+                return true;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setName(name);
+        snapshot.setPermitsPerSecond(permitsPerSecond);
+        snapshot.setBurst(burst);
+        snapshot.setAcquired(acquired.sum());
+        snapshot.setDelayed(delayed.sum());
+        snapshot.setRejected(rejected.sum());
+        snapshot.setMeanWaitMicros(waitHistogram.getMeanMicros());
+        snapshot.setP99WaitMicros(waitHistogram.percentile(99.0D));
+        snapshot.setMaxWaitMicros(waitHistogram.getMaxMicros());
+        return snapshot;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private String name;
+
+        private double permitsPerSecond;
+
+        private int burst;
+
+        /**
+         * 获得令牌的调用数，含等待后获得的
+         */
+        private long acquired;
+
+        /**
+         * 需要等待才获得令牌的调用数
+         */
+        private long delayed;
+
+        /**
+         * 被拒绝的调用数
+         */
+        private long rejected;
+
+        private double meanWaitMicros;
+
+        private long p99WaitMicros;
+
+        private long maxWaitMicros;
+    }
+}
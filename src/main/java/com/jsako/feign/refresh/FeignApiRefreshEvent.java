@@ -0,0 +1,15 @@
+package com.jsako.feign.refresh;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 修改Environment后发布该事件，开启liveConfig的FeignApi重新读取配置
+ */
+public class FeignApiRefreshEvent extends ApplicationEvent {
+
+    public FeignApiRefreshEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,106 @@
+package com.jsako.feign.refresh;
+
+import com.jsako.feign.scan.HeaderAttr;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.Retryer;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 单个FeignApi某一时刻的可热更新配置及由其创建的组件，发布到LiveConfigHolder后不应修改
+ * equals只比较配置值，配置未变化时刷新不替换；header、用户名、密码可能包含凭证，不输出到toString
+ */
+@Data
+public class LiveConfig {
+
+    /**
+     * url中配置的所有地址，多地址时作为负载均衡节点
+     */
+    private List<String> urls;
+
+    /**
+     * 请求目标地址，单地址时即为该地址，负载均衡时为创建时的逻辑地址
+     */
+    private String targetUrl;
+
+    private int connectTimeout;
+
+    private int readTimeout;
+
+    private int retryTimes;
+
+    @ToString.Exclude
+    private HeaderAttr[] headers;
+
+    @ToString.Exclude
+    private String username;
+
+    @ToString.Exclude
+    private String password;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Request.Options options;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Retryer retryer;
+
+    /**
+     * 请求头拦截器，未配置header时为null
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RequestInterceptor headersInterceptor;
+
+    /**
+     * BasicAuth拦截器，未配置用户名密码时为null
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RequestInterceptor basicAuthInterceptor;
+
+    /**
+     * 与另一配置相比发生变化的配置项名称，用于日志，不包含配置值
+     *
+     * @param other 比较的配置，为null时返回所有配置项
+     * @return 变化的配置项名称
+     */
+    public List<String> changedFields(LiveConfig other) {
+        List<String> fields = new ArrayList<>();
+        if (other == null || !Objects.equals(urls, other.urls)) {
+            fields.add("urls");
+        }
+        if (other == null || !Objects.equals(targetUrl, other.targetUrl)) {
+            fields.add("targetUrl");
+        }
+        if (other == null || connectTimeout != other.connectTimeout) {
+            fields.add("connectTimeout");
+        }
+        if (other == null || readTimeout != other.readTimeout) {
+            fields.add("readTimeout");
+        }
+        if (other == null || retryTimes != other.retryTimes) {
+            fields.add("retryTimes");
+        }
+        if (other == null || !Arrays.equals(headers, other.headers)) {
+            fields.add("headers");
+        }
+        if (other == null || !Objects.equals(username, other.username)) {
+            fields.add("username");
+        }
+        if (other == null || !Objects.equals(password, other.password)) {
+            fields.add("password");
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jsako.feign.refresh;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.util.function.Supplier;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 持有FeignApi当前配置，刷新时重新加载并整体替换；调用路径上只有一次volatile读，不加锁
+ */
+@Slf4j
+public class LiveConfigHolder {
+
+    private final String name;
+
+    private final Supplier<LiveConfig> loader;
+
+    private volatile LiveConfig config;
+
+    /**
+     * @param name   FeignApi接口名
+     * @param loader 从Environment加载配置，首次加载失败时直接抛出
+     */
+    public LiveConfigHolder(String name, Supplier<LiveConfig> loader) {
+        Assert.notNull(loader, "LiveConfigHolder loader could not be null");
+        this.name = name;
+        this.loader = loader;
+        this.config = loader.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LiveConfig get() {
+        return config;
+    }
+
+    /**
+     * 重新加载配置，加载失败时保留当前配置
+     *
+     * @return 配置是否变化
+     */
+    public synchronized boolean refresh() {
+        LiveConfig loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            log.warn("LiveConfigHolder refresh,load failed and current config is kept,name:{},msg:{}", name, e.getMessage());
+            return false;
+        }
+        if (loaded.equals(config)) {
+            return false;
+        }
+        //只输出变化的配置项，header及BasicAuth可能包含凭证
+        log.info("LiveConfigHolder refresh,name:{},changed:{}", name, loaded.changedFields(config));
+        config = loaded;
+        return true;
+    }
+}
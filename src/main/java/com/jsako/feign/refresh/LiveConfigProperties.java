@@ -0,0 +1,18 @@
+package com.jsako.feign.refresh;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 可热更新配置，对应配置前缀 feign.scan.live-config
+ * 单个FeignApi的配置项为 feign.scan.api.{接口全限定名}.url/read-timeout/connect-timeout/retry-times/username/password/headers.{key}
+ */
+@Data
+public class LiveConfigProperties {
+
+    /**
+     * 定时从Environment重新读取配置的间隔，0表示只在收到刷新事件时读取，毫秒
+     */
+    private long refreshIntervalMillis = 0L;
+}
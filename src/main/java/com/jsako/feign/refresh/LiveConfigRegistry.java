@@ -0,0 +1,50 @@
+package com.jsako.feign.refresh;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 开启liveConfig的FeignApi配置注册表，按接口名区分
+ */
+public class LiveConfigRegistry {
+
+    private final ConcurrentMap<String, LiveConfigHolder> holders = new ConcurrentHashMap<>();
+
+    public void register(LiveConfigHolder holder) {
+        holders.put(holder.getName(), holder);
+    }
+
+    /**
+     * 刷新所有FeignApi配置
+     *
+     * @return 配置发生变化的FeignApi个数
+     */
+    public int refreshAll() {
+        int changed = 0;
+        for (LiveConfigHolder holder : holders.values()) {
+            if (holder.refresh()) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    public boolean isEmpty() {
+        return holders.isEmpty();
+    }
+
+    /**
+     * 各FeignApi当前生效的配置
+     */
+    public Map<String, LiveConfig> getConfigs() {
+        Map<String, LiveConfig> configs = new TreeMap<>();
+        for (Map.Entry<String, LiveConfigHolder> entry : holders.entrySet()) {
+            configs.put(entry.getKey(), entry.getValue().get());
+        }
+        return configs;
+    }
+}
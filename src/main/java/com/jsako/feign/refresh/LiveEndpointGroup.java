@@ -0,0 +1,24 @@
+package com.jsako.feign.refresh;
+
+import com.jsako.feign.loadbalance.EndpointGroup;
+
+import java.util.List;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description url配置多个地址时使用的节点组，节点随配置刷新
+ */
+public class LiveEndpointGroup implements EndpointGroup {
+
+    private final LiveConfigHolder holder;
+
+    public LiveEndpointGroup(LiveConfigHolder holder) {
+        this.holder = holder;
+    }
+
+    @Override
+    public List<String> getEndpoints() {
+        return holder.get().getUrls();
+    }
+}
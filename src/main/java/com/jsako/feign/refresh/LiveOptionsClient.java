@@ -0,0 +1,29 @@
+package com.jsako.feign.refresh;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 使用当前配置的超时替代Feign.Builder中固定的Options，位于客户端最外层
+ */
+public class LiveOptionsClient implements Client {
+
+    private final Client delegate;
+
+    private final LiveConfigHolder holder;
+
+    public LiveOptionsClient(Client delegate, LiveConfigHolder holder) {
+        this.delegate = delegate;
+        this.holder = holder;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        return delegate.execute(request, holder.get().getOptions());
+    }
+}
@@ -0,0 +1,29 @@
+package com.jsako.feign.refresh;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 按当前配置添加请求头及BasicAuth
+ */
+public class LiveRequestInterceptor implements RequestInterceptor {
+
+    private final LiveConfigHolder holder;
+
+    public LiveRequestInterceptor(LiveConfigHolder holder) {
+        this.holder = holder;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        LiveConfig config = holder.get();
+        if (config.getHeadersInterceptor() != null) {
+            config.getHeadersInterceptor().apply(template);
+        }
+        if (config.getBasicAuthInterceptor() != null) {
+            config.getBasicAuthInterceptor().apply(template);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jsako.feign.refresh;
+
+import feign.RetryableException;
+import feign.Retryer;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 重试器原型，Feign每次调用clone时从当前配置的重试器clone，重试次数变化对之后的调用生效
+ */
+public class LiveRetryer implements Retryer {
+
+    private final LiveConfigHolder holder;
+
+    public LiveRetryer(LiveConfigHolder holder) {
+        this.holder = holder;
+    }
+
+    /**
+     * 原型本身不参与重试，调用时使用clone出的重试器
+     */
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        throw e;
+    }
+
+    @Override
+    public Retryer clone() {
+        return holder.get().getRetryer().clone();
+    }
+}
@@ -0,0 +1,50 @@
+package com.jsako.feign.refresh;
+
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Target;
+
+/**
+ * @Date 2019/8/1
+ * @Author LLJ
+ * @Description 每次请求读取当前地址的Target，替代HardCodedTarget，地址变化时无需重新创建代理
+ */
+public class LiveTarget<T> implements Target<T> {
+
+    private final Class<T> type;
+
+    private final LiveConfigHolder holder;
+
+    public LiveTarget(Class<T> type, LiveConfigHolder holder) {
+        this.type = type;
+        this.holder = holder;
+    }
+
+    @Override
+    public Class<T> type() {
+        return type;
+    }
+
+    @Override
+    public String name() {
+        return holder.getName();
+    }
+
+    @Override
+    public String url() {
+        return holder.get().getTargetUrl();
+    }
+
+    @Override
+    public Request apply(RequestTemplate input) {
+        if (input.url().indexOf("http") != 0) {
+            input.insert(0, url());
+        }
+        return input.request();
+    }
+
+    @Override
+    public String toString() {
+        return "LiveTarget(type=" + type.getSimpleName() + ", url=" + url() + ")";
+    }
+}
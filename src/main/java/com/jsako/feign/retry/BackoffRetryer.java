@@ -0,0 +1,70 @@
+package com.jsako.feign.retry;
+
+import feign.FeignException;
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 带重试预算的full-jitter指数退避重试器，替代Retryer.Default
+ * 第n次重试等待 random(0, min(maxBackoff, backoff * 2^n))，服务端返回Retry-After时以其为准(不超过maxBackoff)
+ * clone在每次调用开始时执行，同时向重试预算存入令牌
+ */
+public class BackoffRetryer implements Retryer {
+
+    private final RetrySettings settings;
+
+    private final RetryBudget budget;
+
+    private int attempt = 1;
+
+    public BackoffRetryer(RetrySettings settings, RetryBudget budget) {
+        this.settings = settings;
+        this.budget = budget;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (!settings.isRetryNonIdempotent() && !RetryContextMethodHandlerDecorator.isIdempotent()) {
+            throw propagate(e);
+        }
+        if (attempt++ >= settings.getMaxAttempts()) {
+            throw propagate(e);
+        }
+        if (!budget.tryWithdraw()) {
+            throw propagate(e);
+        }
+        try {
+            Thread.sleep(backoffMillis(e));
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * 放弃重试时抛出RetryStatusErrorDecoder包装前的FeignException，调用方仍能获取原始状态码
+     */
+    private FeignException propagate(RetryableException e) {
+        return e.getCause() instanceof FeignException ? (FeignException) e.getCause() : e;
+    }
+
+    private long backoffMillis(RetryableException e) {
+        if (e.retryAfter() != null) {
+            long retryAfter = e.retryAfter().getTime() - System.currentTimeMillis();
+            return Math.max(0L, Math.min(settings.getMaxBackoffMillis(), retryAfter));
+        }
+        long ceiling = settings.getBackoffMillis() << Math.min(attempt - 2, 30);
+        ceiling = Math.min(settings.getMaxBackoffMillis(), ceiling < 0 ? Long.MAX_VALUE : ceiling);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    @Override
+    public Retryer clone() {
+        budget.deposit();
+        return new BackoffRetryer(settings, budget);
+    }
+}
@@ -0,0 +1,120 @@
+package com.jsako.feign.retry;
+
+import lombok.Data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 重试预算令牌桶，每次请求存入percent/100个令牌，每次重试取出1个令牌，另外每秒补充minRetriesPerSecond个令牌
+ * 令牌以1/1000为单位存储，无锁
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000L;
+
+    private final String name;
+
+    private final long depositPerRequest;
+
+    private final long refillPerSecond;
+
+    private final long capacity;
+
+    private final AtomicLong tokens;
+
+    private final AtomicLong lastRefillMillis = new AtomicLong(System.currentTimeMillis());
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder spent = new LongAdder();
+
+    private final LongAdder denied = new LongAdder();
+
+    public RetryBudget(String name, int percent, RetryProperties properties) {
+        this.name = name;
+        this.depositPerRequest = SCALE * percent / 100;
+        this.refillPerSecond = SCALE * properties.getMinRetriesPerSecond();
+        this.capacity = SCALE * properties.getMaxTokens();
+        this.tokens = new AtomicLong(refillPerSecond);
+    }
+
+    /**
+     * 新请求存入令牌
+     */
+    public void deposit() {
+        requests.increment();
+        add(depositPerRequest);
+    }
+
+    /**
+     * 尝试取出一次重试的令牌
+     *
+     * @return true 允许重试
+     */
+    public boolean tryWithdraw() {
+        refill();
+        for (; ; ) {
+            long current = tokens.get();
+            if (current < SCALE) {
+                denied.increment();
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - SCALE)) {
+                spent.increment();
+                return true;
+            }
+        }
+    }
+
+    private void refill() {
+        long now = System.currentTimeMillis();
+        long last = lastRefillMillis.get();
+        long elapsed = now - last;
+        if (elapsed >= 1000L && lastRefillMillis.compareAndSet(last, now)) {
+            add(refillPerSecond * elapsed / 1000L);
+        }
+    }
+
+    private void add(long amount) {
+        for (; ; ) {
+            long current = tokens.get();
+            long next = Math.min(capacity, current + amount);
+            if (current == next || tokens.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setName(name);
+        snapshot.setRequests(requests.sum());
+        snapshot.setSpent(spent.sum());
+        snapshot.setDenied(denied.sum());
+        snapshot.setAvailable(tokens.get() / SCALE);
+        return snapshot;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private String name;
+
+        private long requests;
+
+        /**
+         * 已使用的重试次数
+         */
+        private long spent;
+
+        /**
+         * 因预算不足被拒绝的重试次数
+         */
+        private long denied;
+
+        private long available;
+    }
+}
@@ -0,0 +1,37 @@
+package com.jsako.feign.retry;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 重试预算注册表，相同下游及预算比例的FeignApi共享预算
+ */
+public class RetryBudgetRegistry {
+
+    private final ConcurrentMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    private final RetryProperties properties;
+
+    public RetryBudgetRegistry(RetryProperties properties) {
+        this.properties = properties;
+    }
+
+    public RetryBudget get(String target, int percent) {
+        return budgets.computeIfAbsent(target + "#" + percent, name -> new RetryBudget(name, percent, properties));
+    }
+
+    /**
+     * 各重试预算的已用、拒绝次数
+     */
+    public Map<String, RetryBudget.Snapshot> getSnapshots() {
+        Map<String, RetryBudget.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, RetryBudget> entry : budgets.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jsako.feign.retry;
+
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.RequestLine;
+import feign.Target;
+
+import java.lang.reflect.Method;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 在调用期间暴露当前方法是否幂等，供BackoffRetryer判断IO异常是否可以重试
+ */
+public class RetryContextMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private static final ThreadLocal<Boolean> IDEMPOTENT = new ThreadLocal<>();
+
+    /**
+     * 当前调用是否幂等，不在FeignApi调用中时视为幂等
+     */
+    static boolean isIdempotent() {
+        return !Boolean.FALSE.equals(IDEMPOTENT.get());
+    }
+
+    /**
+     * 根据RequestLine判断HTTP方法是否幂等
+     */
+    public static boolean isIdempotent(String httpMethod) {
+        switch (httpMethod) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+            case "PUT":
+            case "DELETE":
+            case "TRACE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        RequestLine requestLine = method.getAnnotation(RequestLine.class);
+        if (requestLine == null) {
+            return handler;
+        }
+        String line = requestLine.value().trim();
+        int space = line.indexOf(' ');
+        Boolean idempotent = isIdempotent(space < 0 ? line : line.substring(0, space));
+        return argv -> {
+            Boolean previous = IDEMPOTENT.get();
+            IDEMPOTENT.set(idempotent);
+            try {
+                return handler.invoke(argv);
+            } finally {
+                IDEMPOTENT.set(previous);
+            }
+        };
+    }
+}
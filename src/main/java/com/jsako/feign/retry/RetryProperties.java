@@ -0,0 +1,22 @@
+package com.jsako.feign.retry;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 重试预算全局配置，对应配置前缀 feign.scan.retry
+ */
+@Data
+public class RetryProperties {
+
+    /**
+     * 每秒保底可用的重试次数，保证低流量时也能重试
+     */
+    private int minRetriesPerSecond = 10;
+
+    /**
+     * 令牌桶容量，即最多可积累的重试次数
+     */
+    private int maxTokens = 1000;
+}
@@ -0,0 +1,62 @@
+package com.jsako.feign.retry;
+
+import com.jsako.feign.manager.FeignManager;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 单个FeignApi的重试配置，作为组件缓存key，创建后不应修改
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RetrySettings {
+
+    /**
+     * 默认退避基数
+     */
+    public static final long DEFAULT_BACKOFF_MILLIS = 100L;
+
+    /**
+     * 默认最大退避时间
+     */
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 10000L;
+
+    /**
+     * 默认重试预算，重试次数不超过近期请求数的20%
+     */
+    public static final int DEFAULT_BUDGET_PERCENT = 20;
+
+    /**
+     * 最大尝试次数(含首次请求)
+     */
+    private int maxAttempts = FeignManager.DEFAULT_RETRY_TIMES;
+
+    private long backoffMillis = DEFAULT_BACKOFF_MILLIS;
+
+    private long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+
+    private int budgetPercent = DEFAULT_BUDGET_PERCENT;
+
+    /**
+     * 幂等方法遇到这些状态码时重试
+     */
+    private int[] statusCodes = {502, 503, 504};
+
+    /**
+     * 是否允许非幂等方法(POST、PATCH)在IO异常时重试
+     */
+    private boolean retryNonIdempotent;
+
+    /**
+     * 兼容原有getFeignBuilder(retryTimes)的默认配置
+     */
+    public static RetrySettings of(int maxAttempts) {
+        RetrySettings settings = new RetrySettings();
+        settings.setMaxAttempts(maxAttempts);
+        return settings;
+    }
+}
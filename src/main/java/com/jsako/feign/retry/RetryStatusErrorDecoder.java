@@ -0,0 +1,78 @@
+package com.jsako.feign.retry;
+
+import feign.Response;
+import feign.RetryableException;
+import feign.codec.ErrorDecoder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Date 2019/7/8
+ * @Author LLJ
+ * @Description 幂等请求返回指定状态码时转换为RetryableException，交给BackoffRetryer决定是否重试
+ * 原始FeignException作为cause保留状态码，Retry-After响应头解析为retryAfter
+ */
+public class RetryStatusErrorDecoder implements ErrorDecoder {
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final ErrorDecoder delegate = new ErrorDecoder.Default();
+
+    private final int[] statusCodes;
+
+    public RetryStatusErrorDecoder(int[] statusCodes) {
+        this.statusCodes = statusCodes.clone();
+    }
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        Exception exception = delegate.decode(methodKey, response);
+        if (exception instanceof RetryableException || !isRetryableStatus(response.status())
+                || response.request() == null || !RetryContextMethodHandlerDecorator.isIdempotent(response.request().method())) {
+            return exception;
+        }
+        return new RetryableException(exception.getMessage(), exception, retryAfter(response));
+    }
+
+    /**
+     * 解析Retry-After响应头，支持秒数及HTTP-date两种格式
+     *
+     * @return 可重试的时间，响应头不存在或格式错误时返回null
+     */
+    private Date retryAfter(Response response) {
+        String value = null;
+        for (Map.Entry<String, Collection<String>> entry : response.headers().entrySet()) {
+            if (RETRY_AFTER.equalsIgnoreCase(entry.getKey()) && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                value = entry.getValue().iterator().next();
+                break;
+            }
+        }
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            if (StringUtils.isNumeric(value)) {
+                return new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+            }
+            return Date.from(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private boolean isRetryableStatus(int status) {
+        for (int statusCode : statusCodes) {
+            if (statusCode == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
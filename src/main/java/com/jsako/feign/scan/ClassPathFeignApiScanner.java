@@ -1,5 +1,6 @@
 package com.jsako.feign.scan;
 
+import com.jsako.feign.index.FeignApiIndex;
 import feign.Logger;
 import feign.RequestInterceptor;
 import lombok.Getter;
@@ -15,9 +16,12 @@ import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
 import org.springframework.context.annotation.ScannedGenericBeanDefinition;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -38,11 +42,82 @@ public class ClassPathFeignApiScanner extends ClassPathBeanDefinitionScanner {
 
     private LoggerEnum loggerType;
 
+    private ClientEnum clientType;
+
+    private ExecutionEnum executionMode;
+
+    private int maxConcurrentCalls;
+
+    private boolean lazy;
+
+    private boolean liveConfig;
+
+    private double rateLimit;
+
+    private RateLimitEnum rateLimitMode;
+
+    private boolean rateLimitShared;
+
+    /**
+     * 编译期生成的FeignApi索引，classpath中不存在时为null
+     */
+    private FeignApiIndex feignApiIndex;
+
+    private boolean indexLoaded;
 
     public ClassPathFeignApiScanner(BeanDefinitionRegistry registry) {
         super(registry);
     }
 
+    /**
+     * 存在FeignApi索引且索引中包含该包的接口时直接从索引中读取候选接口，否则扫描classpath
+     *
+     * @param basePackage 包名
+     * @return 候选BeanDefinition
+     */
+    @Override
+    public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+        FeignApiIndex index = getFeignApiIndex();
+        String resolvedPackage = getEnvironment().resolveRequiredPlaceholders(basePackage);
+        if (Objects.isNull(index) || resolvedPackage.contains("*")) {
+            return super.findCandidateComponents(basePackage);
+        }
+        Set<String> feignApis = index.getFeignApis(resolvedPackage);
+        if (feignApis.isEmpty()) {
+            //索引中没有该包的接口，可能来自未生成索引的jar，回退为扫描classpath
+            log.info("ClassPathFeignApiScanner findCandidateComponents,no indexed FeignApi in basePackage:{},scan classpath", resolvedPackage);
+            return super.findCandidateComponents(basePackage);
+        }
+        Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        for (String feignApi : feignApis) {
+            try {
+                MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(feignApi);
+                ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(metadataReader);
+                beanDefinition.setResource(metadataReader.getResource());
+                beanDefinition.setSource(metadataReader.getResource());
+                if (beanDefinition.getMetadata().hasAnnotation(DEFAULT_SCAN_ANNOTATION.getName()) && isCandidateComponent(beanDefinition)) {
+                    candidates.add(beanDefinition);
+                }
+            } catch (IOException e) {
+                log.warn("ClassPathFeignApiScanner findCandidateComponents,indexed FeignApi:{} could not be read,msg:{}", feignApi, e.getMessage());
+            }
+        }
+        log.info("ClassPathFeignApiScanner findCandidateComponents from " + FeignApiIndex.INDEX_LOCATION + ",basePackage:{},size:{}", resolvedPackage, candidates.size());
+        return candidates;
+    }
+
+    private FeignApiIndex getFeignApiIndex() {
+        if (!indexLoaded) {
+            indexLoaded = true;
+            if (getEnvironment().getProperty(FeignApiIndex.IGNORE_INDEX_PROPERTY, Boolean.class, false)) {
+                return null;
+            }
+            ClassLoader classLoader = Optional.ofNullable(getResourceLoader().getClassLoader()).orElse(ClassUtils.getDefaultClassLoader());
+            feignApiIndex = FeignApiIndex.load(classLoader);
+        }
+        return feignApiIndex;
+    }
+
     @Override
     protected Set<BeanDefinitionHolder> doScan(String... basePackages) {
         addIncludeFilter(new AnnotationTypeFilter(DEFAULT_SCAN_ANNOTATION));
@@ -81,6 +156,22 @@ public class ClassPathFeignApiScanner extends ClassPathBeanDefinitionScanner {
 
             scannerBeanDef.getPropertyValues().addPropertyValue("loggerType",loggerType);
 
+            scannerBeanDef.getPropertyValues().addPropertyValue("clientType", clientType);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("executionMode", executionMode);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("maxConcurrentCalls", maxConcurrentCalls);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("lazy", lazy);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("liveConfig", liveConfig);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("rateLimit", rateLimit);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("rateLimitMode", rateLimitMode);
+
+            scannerBeanDef.getPropertyValues().addPropertyValue("rateLimitShared", rateLimitShared);
+
             scannerBeanDef.getPropertyValues().addPropertyValue("feignApiAttr", feignApi);
 
             scannerBeanDef.getPropertyValues().addPropertyValue("feignManager", new RuntimeBeanReference(feignManagerBeanName));
@@ -105,7 +196,85 @@ public class ClassPathFeignApiScanner extends ClassPathBeanDefinitionScanner {
         Integer retryTimes = feignApiAttr.getNumber(FeignApi.RETRY_TIMES);
         String username = Optional.of(feignApiAttr.getString(FeignApi.USERNAME)).filter(StringUtils::isNotBlank).orElse(null);
         String password = Optional.of(feignApiAttr.getString(FeignApi.PASSWORD)).filter(StringUtils::isNotBlank).orElse(null);
-        return new FeignApiAttr(url, headers, requestInterceptors, logLevel, decode404, username, password, readTimeout, retryTimes);
+        ClientEnum clientType = feignApiAttr.getEnum(FeignApi.CLIENT_TYPE);
+        String asyncExecutor = Optional.of(feignApiAttr.getString(FeignApi.ASYNC_EXECUTOR)).filter(StringUtils::isNotBlank).orElse(null);
+        boolean lazy = feignApiAttr.getBoolean(FeignApi.LAZY);
+        boolean liveConfig = feignApiAttr.getBoolean(FeignApi.LIVE_CONFIG);
+        String healthMethod = Optional.of(feignApiAttr.getString(FeignApi.HEALTH_METHOD)).filter(StringUtils::isNotBlank).orElse(null);
+        boolean singleFlight = feignApiAttr.getBoolean(FeignApi.SINGLE_FLIGHT);
+        LoadBalanceEnum loadBalance = feignApiAttr.getEnum(FeignApi.LOAD_BALANCE);
+        String endpointGroup = Optional.of(feignApiAttr.getString(FeignApi.ENDPOINT_GROUP)).filter(StringUtils::isNotBlank).orElse(null);
+        boolean adaptiveConcurrency = feignApiAttr.getBoolean(FeignApi.ADAPTIVE_CONCURRENCY);
+        Long retryBackoffMillis = feignApiAttr.getNumber(FeignApi.RETRY_BACKOFF_MILLIS);
+        Long retryMaxBackoffMillis = feignApiAttr.getNumber(FeignApi.RETRY_MAX_BACKOFF_MILLIS);
+        Integer retryBudgetPercent = feignApiAttr.getNumber(FeignApi.RETRY_BUDGET_PERCENT);
+        Assert.isTrue(retryBudgetPercent >= 0, "ClassPathFeignApiScanner parseFeignApi retryBudgetPercent could not be negative");
+        int[] retryStatusCodes = (int[]) feignApiAttr.get(FeignApi.RETRY_STATUS_CODES);
+        boolean retryNonIdempotent = feignApiAttr.getBoolean(FeignApi.RETRY_NON_IDEMPOTENT);
+        boolean circuitBreaker = feignApiAttr.getBoolean(FeignApi.CIRCUIT_BREAKER);
+        Integer failureRateThreshold = feignApiAttr.getNumber(FeignApi.FAILURE_RATE_THRESHOLD);
+        Integer slowCallRateThreshold = feignApiAttr.getNumber(FeignApi.SLOW_CALL_RATE_THRESHOLD);
+        Long slowCallMillis = feignApiAttr.getNumber(FeignApi.SLOW_CALL_MILLIS);
+        Integer slidingWindowSize = feignApiAttr.getNumber(FeignApi.SLIDING_WINDOW_SIZE);
+        Assert.isTrue(slidingWindowSize > 0, "ClassPathFeignApiScanner parseFeignApi slidingWindowSize must be positive");
+        Long circuitOpenMillis = feignApiAttr.getNumber(FeignApi.CIRCUIT_OPEN_MILLIS);
+        Integer bulkhead = feignApiAttr.getNumber(FeignApi.BULKHEAD);
+        Assert.isTrue(bulkhead >= 0, "ClassPathFeignApiScanner parseFeignApi bulkhead could not be negative");
+        Long bulkheadWaitMillis = feignApiAttr.getNumber(FeignApi.BULKHEAD_WAIT_MILLIS);
+        CodecEnum codec = feignApiAttr.getEnum(FeignApi.CODEC);
+        boolean compression = feignApiAttr.getBoolean(FeignApi.COMPRESSION);
+        Integer compressionMinBytes = feignApiAttr.getNumber(FeignApi.COMPRESSION_MIN_BYTES);
+        Assert.isTrue(compressionMinBytes >= 0, "ClassPathFeignApiScanner parseFeignApi compressionMinBytes could not be negative");
+        Double rateLimit = feignApiAttr.getNumber(FeignApi.RATE_LIMIT);
+        Integer rateLimitBurst = feignApiAttr.getNumber(FeignApi.RATE_LIMIT_BURST);
+        Assert.isTrue(rateLimitBurst >= 0, "ClassPathFeignApiScanner parseFeignApi rateLimitBurst could not be negative");
+        RateLimitEnum rateLimitMode = feignApiAttr.getEnum(FeignApi.RATE_LIMIT_MODE);
+        Long rateLimitMaxWaitMillis = feignApiAttr.getNumber(FeignApi.RATE_LIMIT_MAX_WAIT_MILLIS);
+        boolean rateLimitShared = feignApiAttr.getBoolean(FeignApi.RATE_LIMIT_SHARED);
+        String fallback = Optional.of(feignApiAttr.getString(FeignApi.FALLBACK)).filter(StringUtils::isNotBlank).orElse(null);
+
+        FeignApiAttr attr = new FeignApiAttr();
+        attr.setUrl(url);
+        attr.setHeaders(headers);
+        attr.setRequestInterceptors(requestInterceptors);
+        attr.setLogLevel(logLevel);
+        attr.setDecode404(decode404);
+        attr.setUsername(username);
+        attr.setPassword(password);
+        attr.setReadTimeout(readTimeout);
+        attr.setRetryTimes(retryTimes);
+        attr.setClientType(clientType);
+        attr.setAsyncExecutor(asyncExecutor);
+        attr.setLazy(lazy);
+        attr.setLiveConfig(liveConfig);
+        attr.setHealthMethod(healthMethod);
+        attr.setSingleFlight(singleFlight);
+        attr.setLoadBalance(loadBalance);
+        attr.setEndpointGroup(endpointGroup);
+        attr.setAdaptiveConcurrency(adaptiveConcurrency);
+        attr.setRetryBackoffMillis(retryBackoffMillis);
+        attr.setRetryMaxBackoffMillis(retryMaxBackoffMillis);
+        attr.setRetryBudgetPercent(retryBudgetPercent);
+        attr.setRetryStatusCodes(retryStatusCodes);
+        attr.setRetryNonIdempotent(retryNonIdempotent);
+        attr.setCircuitBreaker(circuitBreaker);
+        attr.setFailureRateThreshold(failureRateThreshold);
+        attr.setSlowCallRateThreshold(slowCallRateThreshold);
+        attr.setSlowCallMillis(slowCallMillis);
+        attr.setSlidingWindowSize(slidingWindowSize);
+        attr.setCircuitOpenMillis(circuitOpenMillis);
+        attr.setBulkhead(bulkhead);
+        attr.setBulkheadWaitMillis(bulkheadWaitMillis);
+        attr.setFallback(fallback);
+        attr.setCodec(codec);
+        attr.setCompression(compression);
+        attr.setCompressionMinBytes(compressionMinBytes);
+        attr.setRateLimit(rateLimit);
+        attr.setRateLimitBurst(rateLimitBurst);
+        attr.setRateLimitMode(rateLimitMode);
+        attr.setRateLimitMaxWaitMillis(rateLimitMaxWaitMillis);
+        attr.setRateLimitShared(rateLimitShared);
+        return attr;
     }
 
     /**
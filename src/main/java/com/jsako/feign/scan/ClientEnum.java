@@ -0,0 +1,16 @@
+package com.jsako.feign.scan;
+
+/**
+ * @Date 2019/6/10
+ * @Author LLJ
+ * @Description
+ */
+public enum ClientEnum {
+    /**
+     * Default feign默认的HttpURLConnection客户端，无连接池
+     * ApacheHttpClient 基于连接池的ApacheHttpClient客户端，同一FeignManager下共享连接池
+     * Http2 基于OkHttp的HTTP/2客户端，同一host的并发请求复用少量连接，下游不支持时回退HTTP/1.1
+     * Inherit 继承FeignApiScan中配置的客户端类型，只在FeignApi注解中使用
+     */
+    Default, ApacheHttpClient, Http2, Inherit
+}
@@ -0,0 +1,16 @@
+package com.jsako.feign.scan;
+
+/**
+ * @Date 2019/7/19
+ * @Author LLJ
+ * @Description
+ */
+public enum CodecEnum {
+    /**
+     * Json 默认，application/json
+     * Smile Jackson二进制JSON，application/x-jackson-smile，需引入jackson-dataformat-smile
+     * Cbor application/cbor，需引入jackson-dataformat-cbor
+     * Protobuf application/x-protobuf，请求及返回值需为protobuf生成的Message类型，需引入protobuf-java
+     */
+    Json, Smile, Cbor, Protobuf
+}
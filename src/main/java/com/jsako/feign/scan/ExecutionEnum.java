@@ -0,0 +1,14 @@
+package com.jsako.feign.scan;
+
+/**
+ * @Date 2019/6/14
+ * @Author LLJ
+ * @Description
+ */
+public enum ExecutionEnum {
+    /**
+     * Platform 同步方法在调用线程执行，异步方法在FeignManager线程池中执行
+     * VirtualThread 异步方法在虚拟线程中执行(需JDK21+，否则退化为Platform)，并通过并发闸门限制同时进行的调用数
+     */
+    Platform, VirtualThread
+}
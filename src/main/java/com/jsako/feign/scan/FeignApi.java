@@ -1,6 +1,8 @@
 package com.jsako.feign.scan;
 
+import com.jsako.feign.circuit.CircuitBreakerSettings;
 import com.jsako.feign.manager.FeignManager;
+import com.jsako.feign.retry.RetrySettings;
 import feign.Logger;
 import feign.RequestInterceptor;
 
@@ -36,9 +38,72 @@ public @interface FeignApi {
 
     String RETRY_TIMES="retryTimes";
 
+    String CLIENT_TYPE="clientType";
+
+    String ASYNC_EXECUTOR="asyncExecutor";
+
+    String LAZY="lazy";
+
+    String SINGLE_FLIGHT="singleFlight";
+
+    String LOAD_BALANCE="loadBalance";
+
+    String ENDPOINT_GROUP="endpointGroup";
+
+    String ADAPTIVE_CONCURRENCY="adaptiveConcurrency";
+
+    String RETRY_BACKOFF_MILLIS="retryBackoffMillis";
+
+    String RETRY_MAX_BACKOFF_MILLIS="retryMaxBackoffMillis";
+
+    String RETRY_BUDGET_PERCENT="retryBudgetPercent";
+
+    String RETRY_STATUS_CODES="retryStatusCodes";
+
+    String RETRY_NON_IDEMPOTENT="retryNonIdempotent";
+
+    String CIRCUIT_BREAKER="circuitBreaker";
+
+    String FAILURE_RATE_THRESHOLD="failureRateThreshold";
+
+    String SLOW_CALL_RATE_THRESHOLD="slowCallRateThreshold";
+
+    String SLOW_CALL_MILLIS="slowCallMillis";
+
+    String SLIDING_WINDOW_SIZE="slidingWindowSize";
+
+    String CIRCUIT_OPEN_MILLIS="circuitOpenMillis";
+
+    String BULKHEAD="bulkhead";
+
+    String BULKHEAD_WAIT_MILLIS="bulkheadWaitMillis";
+
+    String FALLBACK="fallback";
+
+    String CODEC="codec";
+
+    String COMPRESSION="compression";
+
+    String COMPRESSION_MIN_BYTES="compressionMinBytes";
+
+    String RATE_LIMIT="rateLimit";
+
+    String RATE_LIMIT_BURST="rateLimitBurst";
+
+    String RATE_LIMIT_MODE="rateLimitMode";
+
+    String RATE_LIMIT_MAX_WAIT_MILLIS="rateLimitMaxWaitMillis";
+
+    String RATE_LIMIT_SHARED="rateLimitShared";
+
+    String LIVE_CONFIG="liveConfig";
+
+    String HEALTH_METHOD="healthMethod";
+
     /**
      * 请求路径前缀
      * 支持${}表达式读取Environment配置
+     * 支持逗号分隔的多个地址，按loadBalance策略在多个地址间负载均衡，第一个地址同时作为逻辑地址
      */
     String url();
 
@@ -81,7 +146,167 @@ public @interface FeignApi {
 
     /**
      * 重试次数 默认3次
+     * 最大尝试次数(含首次请求)
      */
     int retryTimes() default FeignManager.DEFAULT_RETRY_TIMES;
 
+    /**
+     * 重试退避基数，第n次重试等待 random(0, min(retryMaxBackoffMillis, retryBackoffMillis * 2^(n-1)))
+     */
+    long retryBackoffMillis() default RetrySettings.DEFAULT_BACKOFF_MILLIS;
+
+    /**
+     * 重试最大退避时间
+     */
+    long retryMaxBackoffMillis() default RetrySettings.DEFAULT_MAX_BACKOFF_MILLIS;
+
+    /**
+     * 重试预算，重试次数不超过近期请求数的百分比，同一下游共享
+     */
+    int retryBudgetPercent() default RetrySettings.DEFAULT_BUDGET_PERCENT;
+
+    /**
+     * 幂等方法(GET、HEAD、PUT、DELETE等)遇到这些状态码时重试
+     */
+    int[] retryStatusCodes() default {502, 503, 504};
+
+    /**
+     * 是否允许非幂等方法(POST、PATCH)在IO异常时重试，默认不重试
+     */
+    boolean retryNonIdempotent() default false;
+
+    /**
+     * 是否开启熔断器，最近slidingWindowSize次调用的失败率或慢调用率达到阈值时熔断，熔断期间调用直接拒绝
+     */
+    boolean circuitBreaker() default false;
+
+    /**
+     * 熔断失败率阈值，百分比
+     */
+    int failureRateThreshold() default CircuitBreakerSettings.DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * 熔断慢调用率阈值，百分比
+     */
+    int slowCallRateThreshold() default CircuitBreakerSettings.DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    /**
+     * 耗时超过该值的调用记为慢调用，毫秒
+     */
+    long slowCallMillis() default CircuitBreakerSettings.DEFAULT_SLOW_CALL_MILLIS;
+
+    /**
+     * 熔断器统计的最近调用次数
+     */
+    int slidingWindowSize() default CircuitBreakerSettings.DEFAULT_SLIDING_WINDOW_SIZE;
+
+    /**
+     * 熔断持续时间，之后放行少量试探调用，毫秒
+     */
+    long circuitOpenMillis() default CircuitBreakerSettings.DEFAULT_OPEN_MILLIS;
+
+    /**
+     * 隔离舱最大并发调用数，0表示不限制
+     */
+    int bulkhead() default 0;
+
+    /**
+     * 隔离舱已满时的最长等待时间，0表示直接拒绝，毫秒
+     */
+    long bulkheadWaitMillis() default 0L;
+
+    /**
+     * 熔断或隔离舱拒绝时调用的bean名称，该bean需实现FeignApi接口，为空时抛出CallNotPermittedException
+     */
+    String fallback() default "";
+
+    /**
+     * 请求及响应的数据格式，默认JSON；二进制格式请求时设置Content-Type及Accept，响应按Content-Type解码
+     */
+    CodecEnum codec() default CodecEnum.Json;
+
+    /**
+     * 是否开启gzip/deflate压缩，开启后请求声明Accept-Encoding，响应边读边解压，请求体超过compressionMinBytes时gzip压缩
+     */
+    boolean compression() default false;
+
+    /**
+     * 请求体压缩阈值，字节
+     */
+    int compressionMinBytes() default 2048;
+
+    /**
+     * 每秒最多发起的调用数，0表示不限流，负数表示继承FeignApiScan中的配置
+     */
+    double rateLimit() default -1D;
+
+    /**
+     * 令牌桶容量，空闲后可连续发起的调用数，0表示取每秒调用数(至少为1)
+     */
+    int rateLimitBurst() default 0;
+
+    /**
+     * 令牌不足时的处理方式，默认继承FeignApiScan中的配置
+     */
+    RateLimitEnum rateLimitMode() default RateLimitEnum.Inherit;
+
+    /**
+     * Block及AsyncWait模式下等待令牌的最长时间，超过时抛出RateLimitExceededException，毫秒
+     */
+    long rateLimitMaxWaitMillis() default 1000L;
+
+    /**
+     * 是否与访问相同host的FeignApi共享令牌桶，FeignApiScan中开启时对所有FeignApi生效
+     */
+    boolean rateLimitShared() default false;
+
+    /**
+     * 客户端类型，默认继承FeignApiScan中的配置
+     */
+    ClientEnum clientType() default ClientEnum.Inherit;
+
+    /**
+     * 返回CompletableFuture的方法使用的线程池(Executor)BeanName
+     * 为空时使用FeignManager默认线程池
+     */
+    String asyncExecutor() default "";
+
+    /**
+     * 是否延迟创建FeignClient，首次调用时才构建，FeignApiScan中开启时对所有FeignApi生效
+     */
+    boolean lazy() default false;
+
+    /**
+     * 是否开启可热更新配置，地址、超时、重试次数、BasicAuth及请求头在收到刷新事件时重新读取，不重建代理
+     * 配置项 feign.scan.api.{接口全限定名}.url/read-timeout/connect-timeout/retry-times/username/password/headers.{key}
+     * 优先于注解值，注解值中的${}表达式同样重新解析；FeignApiScan中开启时对所有FeignApi生效
+     */
+    boolean liveConfig() default false;
+
+    /**
+     * 健康检查方法名，需为接口中的无参方法，开启预热(feign.scan.warmup.enabled)时在建立连接后调用一次
+     */
+    String healthMethod() default "";
+
+    /**
+     * 是否合并并发的相同请求，只对GET/HEAD方法生效
+     * 参数相同的并发调用共享一次HTTP请求及其解码结果
+     */
+    boolean singleFlight() default false;
+
+    /**
+     * 配置多个地址或endpointGroup时使用的负载均衡策略
+     */
+    LoadBalanceEnum loadBalance() default LoadBalanceEnum.RoundRobin;
+
+    /**
+     * 节点组(EndpointGroup)BeanName，指定后节点从该Bean动态获取，url只作为逻辑地址
+     */
+    String endpointGroup() default "";
+
+    /**
+     * 是否开启按下游host的自适应并发限制，超出限制的请求直接抛出ConcurrencyLimitExceededException
+     */
+    boolean adaptiveConcurrency() default false;
+
 }
@@ -1,5 +1,7 @@
 package com.jsako.feign.scan;
 
+import com.jsako.feign.circuit.CircuitBreakerSettings;
+import com.jsako.feign.retry.RetrySettings;
 import feign.Logger;
 import feign.RequestInterceptor;
 import lombok.AllArgsConstructor;
@@ -34,4 +36,66 @@ public class FeignApiAttr {
 
     private int retryTimes;
 
+    private ClientEnum clientType = ClientEnum.Inherit;
+
+    private String asyncExecutor;
+
+    private boolean lazy;
+
+    private boolean liveConfig;
+
+    private String healthMethod;
+
+    private boolean singleFlight;
+
+    private LoadBalanceEnum loadBalance = LoadBalanceEnum.RoundRobin;
+
+    private String endpointGroup;
+
+    private boolean adaptiveConcurrency;
+
+    private long retryBackoffMillis = RetrySettings.DEFAULT_BACKOFF_MILLIS;
+
+    private long retryMaxBackoffMillis = RetrySettings.DEFAULT_MAX_BACKOFF_MILLIS;
+
+    private int retryBudgetPercent = RetrySettings.DEFAULT_BUDGET_PERCENT;
+
+    private int[] retryStatusCodes = {502, 503, 504};
+
+    private boolean retryNonIdempotent;
+
+    private boolean circuitBreaker;
+
+    private int failureRateThreshold = CircuitBreakerSettings.DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    private int slowCallRateThreshold = CircuitBreakerSettings.DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    private long slowCallMillis = CircuitBreakerSettings.DEFAULT_SLOW_CALL_MILLIS;
+
+    private int slidingWindowSize = CircuitBreakerSettings.DEFAULT_SLIDING_WINDOW_SIZE;
+
+    private long circuitOpenMillis = CircuitBreakerSettings.DEFAULT_OPEN_MILLIS;
+
+    private int bulkhead;
+
+    private long bulkheadWaitMillis;
+
+    private String fallback;
+
+    private CodecEnum codec = CodecEnum.Json;
+
+    private boolean compression;
+
+    private int compressionMinBytes = 2048;
+
+    private double rateLimit = -1D;
+
+    private int rateLimitBurst;
+
+    private RateLimitEnum rateLimitMode = RateLimitEnum.Inherit;
+
+    private long rateLimitMaxWaitMillis = 1000L;
+
+    private boolean rateLimitShared;
+
 }
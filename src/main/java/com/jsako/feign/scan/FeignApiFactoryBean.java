@@ -1,8 +1,49 @@
 package com.jsako.feign.scan;
 
+import com.jsako.feign.async.AsyncDecoder;
+import com.jsako.feign.async.AsyncMethodHandlerDecorator;
+import com.jsako.feign.async.ConcurrencyGateMethodHandlerDecorator;
+import com.jsako.feign.cache.CachingClient;
+import com.jsako.feign.circuit.Bulkhead;
+import com.jsako.feign.circuit.CircuitBreaker;
+import com.jsako.feign.batch.BatchMethodHandlerDecorator;
+import com.jsako.feign.circuit.CircuitBreakerMethodHandlerDecorator;
+import com.jsako.feign.circuit.CircuitBreakerRegistry;
+import com.jsako.feign.circuit.CircuitBreakerSettings;
+import com.jsako.feign.codec.Codec;
+import com.jsako.feign.compress.CompressingClient;
+import com.jsako.feign.cache.FreshResponseMethodHandlerDecorator;
+import com.jsako.feign.cache.ResponseCacheMethodHandlerDecorator;
+import com.jsako.feign.hedge.HedgeMethodHandlerDecorator;
+import com.jsako.feign.invocation.DecoratingInvocationHandlerFactory;
+import com.jsako.feign.invocation.LazyFeignApiProxy;
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.limit.ConcurrencyLimitingClient;
+import com.jsako.feign.loadbalance.EndpointGroup;
+import com.jsako.feign.loadbalance.LoadBalancingClient;
+import com.jsako.feign.loadbalance.StaticEndpointGroup;
 import com.jsako.feign.manager.FeignManager;
+import com.jsako.feign.metrics.MetricsMethodHandlerDecorator;
+import com.jsako.feign.metrics.RetryMetricsMethodHandlerDecorator;
+import com.jsako.feign.ratelimit.RateLimitMethodHandlerDecorator;
+import com.jsako.feign.ratelimit.RateLimitingClient;
+import com.jsako.feign.ratelimit.TokenBucket;
+import com.jsako.feign.refresh.LiveConfig;
+import com.jsako.feign.refresh.LiveConfigHolder;
+import com.jsako.feign.refresh.LiveEndpointGroup;
+import com.jsako.feign.refresh.LiveOptionsClient;
+import com.jsako.feign.refresh.LiveRequestInterceptor;
+import com.jsako.feign.refresh.LiveRetryer;
+import com.jsako.feign.refresh.LiveTarget;
+import com.jsako.feign.retry.RetryContextMethodHandlerDecorator;
+import com.jsako.feign.retry.RetrySettings;
+import com.jsako.feign.singleflight.SingleFlightMethodHandlerDecorator;
+import com.jsako.feign.stream.StreamingDecoder;
+import com.jsako.feign.warmup.WarmupTarget;
+import feign.Client;
 import feign.Feign;
 import feign.RequestInterceptor;
+import feign.codec.Decoder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +57,18 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.Environment;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.function.SingletonSupplier;
 
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * @Date 2019/5/27
@@ -40,6 +90,51 @@ public class FeignApiFactoryBean<T> implements FactoryBean<T>, InitializingBean,
      */
     private LoggerEnum loggerType=LoggerEnum.NoOpLogger;
 
+    /**
+     * 客户端类型，FeignApi注解为Inherit时使用
+     */
+    private ClientEnum clientType = ClientEnum.Default;
+
+    /**
+     * 执行模式
+     */
+    private ExecutionEnum executionMode = ExecutionEnum.Platform;
+
+    /**
+     * VirtualThread模式下最大并发调用数
+     */
+    private int maxConcurrentCalls = FeignManager.DEFAULT_MAX_CONCURRENT_CALLS;
+
+    /**
+     * 是否延迟创建FeignClient，FeignApiScan中的配置
+     */
+    private boolean lazy;
+
+    /**
+     * 是否对所有FeignApi开启可热更新配置，FeignApiScan中的配置
+     */
+    private boolean liveConfig;
+
+    /**
+     * 开启liveConfig时当前FeignApi的配置，创建FeignClient时初始化
+     */
+    private LiveConfigHolder liveConfigHolder;
+
+    /**
+     * 每秒最多调用数，FeignApi注解为负数时使用，0表示不限流
+     */
+    private double rateLimit;
+
+    /**
+     * 令牌不足时的处理方式，FeignApi注解为Inherit时使用
+     */
+    private RateLimitEnum rateLimitMode = RateLimitEnum.Block;
+
+    /**
+     * 是否按下游host共享令牌桶，FeignApiScan中的配置
+     */
+    private boolean rateLimitShared;
+
     /**
      * 被代理成FeignClient的接口类
      */
@@ -59,20 +154,435 @@ public class FeignApiFactoryBean<T> implements FactoryBean<T>, InitializingBean,
 
     @Override
     public T getObject() throws Exception {
+        T target = lazy || feignApiAttr.isLazy() ? LazyFeignApiProxy.create(targetProxyInterface, this::createTarget) : createTarget();
+        if (feignManager.getWarmup().isEnabled()) {
+            feignManager.registerWarmupTarget(buildWarmupTarget(target));
+        }
+        return target;
+    }
+
+    /**
+     * 构建预热目标，节点在预热时解析
+     *
+     * @param target FeignApi代理
+     * @return WarmupTarget
+     */
+    private WarmupTarget buildWarmupTarget(T target) {
+        Method healthMethod = null;
+        if (StringUtils.isNotBlank(feignApiAttr.getHealthMethod())) {
+            healthMethod = ReflectionUtils.findMethod(targetProxyInterface, feignApiAttr.getHealthMethod());
+            Assert.notNull(healthMethod, String.format("FeignApiFactoryBean ,targetProxyInterface {%s} healthMethod %s() not found",
+                    targetProxyInterface.getSimpleName(), feignApiAttr.getHealthMethod()));
+        }
+        Supplier<List<String>> endpoints = () -> {
+            //开启liveConfig时使用当前生效的地址
+            List<String> urls = Objects.nonNull(liveConfigHolder) ? liveConfigHolder.get().getUrls() : resolveUrls();
+            EndpointGroup endpointGroup = resolveEndpointGroup(urls);
+            return Objects.nonNull(endpointGroup) ? endpointGroup.getEndpoints() : urls;
+        };
+        return new WarmupTarget(targetProxyInterface.getName(), endpoints, feignManager.getClient(resolveClientType()), target, healthMethod);
+    }
+
+    /**
+     * 构建Feign目标对象
+     *
+     * @return FeignClient
+     * @throws Exception
+     */
+    protected T createTarget() throws Exception {
+        boolean live = liveConfig || feignApiAttr.isLiveConfig();
+        //开启liveConfig时BasicAuth由LiveRequestInterceptor按当前配置添加
         Feign.Builder feignBuilder = feignManager.getFeignBuilder(feignApiAttr.getReadTimeout(), feignApiAttr.getRetryTimes()
-                , resolveValue(feignApiAttr.getUsername()), resolveValue(feignApiAttr.getPassword()),loggerType);
+                , live ? null : resolveValue(feignApiAttr.getUsername()), live ? null : resolveValue(feignApiAttr.getPassword()), loggerType);
         //404解码
         if(feignApiAttr.isDecode404()){
             feignBuilder.decode404();
         }
         //日志级别设置
         feignBuilder.logLevel(feignApiAttr.getLogLevel());
-        String url = resolveValue(feignApiAttr.getUrl());
-        addHeaders(feignBuilder);
+        //编解码设置，流式返回值由调用方关闭响应
+        Codec codec = feignManager.getCodec(feignApiAttr.getCodec());
+        feignBuilder.encoder(codec.getEncoder()).decoder(resolveDecoder());
+        if (Objects.nonNull(codec.getAcceptInterceptor())) {
+            feignBuilder.requestInterceptor(codec.getAcceptInterceptor());
+        }
+        if (hasStreamingMethod()) {
+            feignBuilder.doNotCloseAfterDecode();
+        }
+        //url支持逗号分隔多个地址，第一个地址作为逻辑地址
+        List<String> urls = resolveUrls();
+        String url = urls.get(0);
+        RetrySettings retrySettings = buildRetrySettings();
+        feignBuilder.errorDecoder(feignManager.getErrorDecoder(retrySettings.getStatusCodes()));
+        if (live) {
+            //地址、超时、重试及请求头每次调用读取当前配置，刷新时整体替换
+            boolean loadBalanced = urls.size() > 1 || StringUtils.isNotBlank(feignApiAttr.getEndpointGroup());
+            liveConfigHolder = new LiveConfigHolder(targetProxyInterface.getName(), () -> loadLiveConfig(url, loadBalanced));
+            feignManager.registerLiveConfig(liveConfigHolder);
+            feignBuilder.client(new LiveOptionsClient(buildClient(url, urls), liveConfigHolder));
+            feignBuilder.retryer(new LiveRetryer(liveConfigHolder));
+            feignBuilder.requestInterceptor(new LiveRequestInterceptor(liveConfigHolder));
+        } else {
+            //客户端设置
+            feignBuilder.client(buildClient(url, urls));
+            //重试设置，同一逻辑地址共享重试预算
+            feignBuilder.retryer(feignManager.getRetryer(retrySettings, url));
+            addHeaders(feignBuilder);
+        }
         addRequestInterceptors(feignBuilder);
+        feignBuilder.invocationHandlerFactory(new DecoratingInvocationHandlerFactory(buildMethodHandlerDecorators()));
+        if (live) {
+            return feignBuilder.target(new LiveTarget<>(targetProxyInterface, liveConfigHolder));
+        }
         return feignBuilder.target(targetProxyInterface, url);
     }
 
+    /**
+     * 从Environment读取当前配置，feign.scan.api.{接口全限定名}下的配置项优先于注解值
+     *
+     * @param logicalUrl   创建时的逻辑地址
+     * @param loadBalanced 是否负载均衡，负载均衡时请求目标始终为逻辑地址，地址变化只替换节点
+     * @return LiveConfig
+     */
+    private LiveConfig loadLiveConfig(String logicalUrl, boolean loadBalanced) {
+        String prefix = FeignManager.LIVE_CONFIG_PREFIX + targetProxyInterface.getName() + ".";
+        LiveConfig config = new LiveConfig();
+        List<String> urls = splitUrls(environment.getProperty(prefix + "url", resolveValue(feignApiAttr.getUrl())));
+        config.setUrls(Collections.unmodifiableList(urls));
+        config.setTargetUrl(loadBalanced ? logicalUrl : urls.get(0));
+        config.setConnectTimeout(environment.getProperty(prefix + "connect-timeout", Integer.class, FeignManager.DEFAULT_CONNECTION_TIMEOUT));
+        config.setReadTimeout(environment.getProperty(prefix + "read-timeout", Integer.class, feignApiAttr.getReadTimeout()));
+        config.setRetryTimes(environment.getProperty(prefix + "retry-times", Integer.class, feignApiAttr.getRetryTimes()));
+        config.setUsername(environment.getProperty(prefix + "username", Optional.ofNullable(resolveValue(feignApiAttr.getUsername())).orElse("")));
+        config.setPassword(environment.getProperty(prefix + "password", Optional.ofNullable(resolveValue(feignApiAttr.getPassword())).orElse("")));
+        HeaderAttr[] headerAttrs = Optional.ofNullable(feignApiAttr.getHeaders()).orElse(new HeaderAttr[0]);
+        HeaderAttr[] headers = new HeaderAttr[headerAttrs.length];
+        for (int i = 0; i < headerAttrs.length; i++) {
+            String key = headerAttrs[i].getKey();
+            headers[i] = new HeaderAttr(key, environment.getProperty(prefix + "headers." + key, resolveValue(headerAttrs[i].getValue())));
+        }
+        config.setHeaders(headers);
+
+        config.setOptions(feignManager.getOptions(config.getConnectTimeout(), config.getReadTimeout()));
+        RetrySettings retrySettings = buildRetrySettings();
+        retrySettings.setMaxAttempts(config.getRetryTimes());
+        config.setRetryer(feignManager.getRetryer(retrySettings, logicalUrl));
+        if (headers.length > 0) {
+            config.setHeadersInterceptor(feignManager.getHeadersInterceptor(headers));
+        }
+        if (StringUtils.isNotBlank(config.getUsername()) && StringUtils.isNotBlank(config.getPassword())) {
+            config.setBasicAuthInterceptor(feignManager.getBasicAuthInterceptor(config.getUsername(), config.getPassword()));
+        }
+        return config;
+    }
+
+    /**
+     * 根据FeignApi注解构建重试配置
+     *
+     * @return RetrySettings
+     */
+    private RetrySettings buildRetrySettings() {
+        RetrySettings settings = RetrySettings.of(feignApiAttr.getRetryTimes());
+        settings.setBackoffMillis(feignApiAttr.getRetryBackoffMillis());
+        settings.setMaxBackoffMillis(feignApiAttr.getRetryMaxBackoffMillis());
+        settings.setBudgetPercent(feignApiAttr.getRetryBudgetPercent());
+        settings.setStatusCodes(feignApiAttr.getRetryStatusCodes());
+        settings.setRetryNonIdempotent(feignApiAttr.isRetryNonIdempotent());
+        return settings;
+    }
+
+    /**
+     * 解析url，支持逗号分隔的多个地址
+     *
+     * @return 地址列表，至少包含一个
+     */
+    private List<String> resolveUrls() {
+        return splitUrls(resolveValue(feignApiAttr.getUrl()));
+    }
+
+    private List<String> splitUrls(String resolved) {
+        Assert.hasText(resolved, String.format("FeignApiFactoryBean ,targetProxyInterface {%s} url is empty", targetProxyInterface.getSimpleName()));
+        List<String> urls = new ArrayList<>();
+        for (String url : resolved.split(",")) {
+            if (StringUtils.isNotBlank(url)) {
+                urls.add(url.trim());
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * 构建客户端，配置多个地址或节点组时包装负载均衡，存在开启FeignCache的方法时包装响应缓存
+     *
+     * @param url  逻辑地址
+     * @param urls url中配置的所有地址
+     * @return Client
+     */
+    protected Client buildClient(String url, List<String> urls) {
+        Client client = feignManager.getClient(resolveClientType());
+        //并发限制位于负载均衡内层，按实际访问的节点host限制
+        if (feignApiAttr.isAdaptiveConcurrency()) {
+            client = new ConcurrencyLimitingClient(client, feignManager.getConcurrencyLimiterRegistry());
+        }
+        EndpointGroup endpointGroup = resolveEndpointGroup(urls);
+        if (Objects.nonNull(endpointGroup)) {
+            client = new LoadBalancingClient(client, url, endpointGroup, feignManager.buildLoadBalanceStrategy(feignApiAttr.getLoadBalance()),
+                    feignManager.getEndpointRegistry(), feignManager.getLoadBalance());
+        }
+        //限流位于负载均衡外层、缓存内层，每次HTTP请求(含重试及对冲)消耗一个令牌，
+        //限流拒绝不计入节点失败，等待令牌时不占用节点inFlight及并发permit
+        if (resolveRateLimit() > 0) {
+            client = new RateLimitingClient(client, resolveTokenBucket(), resolveRateLimitMode(), feignApiAttr.getRateLimitMaxWaitMillis());
+        }
+        //压缩位于缓存内层，缓存保存解压后的响应
+        if (feignApiAttr.isCompression()) {
+            client = new CompressingClient(client, feignApiAttr.getCompressionMinBytes(),
+                    feignManager.getCompressionRegistry().getOrCreate(targetProxyInterface.getName()));
+        }
+        //缓存位于负载均衡外层，以逻辑地址作为缓存key
+        if (hasCacheableMethod()) {
+            client = new CachingClient(client);
+        }
+        return client;
+    }
+
+    /**
+     * 获取节点组，FeignApi指定endpointGroup时从spring容器中获取，否则url配置多个地址时使用固定节点组
+     *
+     * @return EndpointGroup，不需要负载均衡时返回null
+     */
+    private EndpointGroup resolveEndpointGroup(List<String> urls) {
+        String endpointGroup = feignApiAttr.getEndpointGroup();
+        if (StringUtils.isNotBlank(endpointGroup)) {
+            return applicationContext.getBean(endpointGroup, EndpointGroup.class);
+        }
+        if (urls.size() <= 1) {
+            return null;
+        }
+        return Objects.nonNull(liveConfigHolder) ? new LiveEndpointGroup(liveConfigHolder) : new StaticEndpointGroup(urls);
+    }
+
+    /**
+     * 解析解码器，接口中存在流式返回值时使用支持流式的解码器
+     *
+     * @return Decoder
+     */
+    private Decoder resolveDecoder() {
+        Codec codec = feignManager.getCodec(feignApiAttr.getCodec());
+        if (!hasStreamingMethod()) {
+            return codec.getDecoder();
+        }
+        Assert.notNull(codec.getStreamingDecoder(), String.format("FeignApiFactoryBean ,targetProxyInterface {%s} codec %s does not support streaming return type",
+                targetProxyInterface.getSimpleName(), feignApiAttr.getCodec()));
+        return codec.getStreamingDecoder();
+    }
+
+    /**
+     * FeignApi是否配置了自定义拦截器，自定义拦截器添加的请求头可能随调用变化
+     */
+    private boolean hasCustomRequestInterceptor() {
+        Class<? extends RequestInterceptor>[] requestInterceptors = feignApiAttr.getRequestInterceptors();
+        return Objects.nonNull(requestInterceptors) && requestInterceptors.length > 0;
+    }
+
+    private boolean hasCacheableMethod() {
+        for (Method method : targetProxyInterface.getMethods()) {
+            if (Objects.nonNull(ResponseCacheMethodHandlerDecorator.findFeignCache(targetProxyInterface, method))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 接口中是否存在返回Stream、Iterator或InputStream的方法
+     */
+    private boolean hasStreamingMethod() {
+        for (Method method : targetProxyInterface.getMethods()) {
+            if (StreamingDecoder.isStreamingType(method.getGenericReturnType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 接口中是否存在开启FeignHedge的方法
+     */
+    private boolean hasHedgedMethod() {
+        for (Method method : targetProxyInterface.getMethods()) {
+            if (Objects.nonNull(HedgeMethodHandlerDecorator.findFeignHedge(targetProxyInterface, method))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 接口中是否存在开启FeignBatch的方法，启动时校验批量方法
+     */
+    private boolean hasBatchMethod() {
+        boolean found = false;
+        for (Method method : targetProxyInterface.getMethods()) {
+            FeignBatch feignBatch = method.getAnnotation(FeignBatch.class);
+            if (Objects.nonNull(feignBatch)) {
+                BatchMethodHandlerDecorator.findBulkMethod(targetProxyInterface, method, feignBatch);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 构建方法调用的包装链，列表中靠后的位于调用链外层
+     *
+     * @return MethodHandlerDecorator列表
+     */
+    protected List<MethodHandlerDecorator> buildMethodHandlerDecorators() {
+        List<MethodHandlerDecorator> decorators = new ArrayList<>();
+        decorators.add(new RetryContextMethodHandlerDecorator());
+        if (feignManager.isMetricsEnabled()) {
+            //位于最内层，与Retryer在同一线程中，对冲及异步线程中的重试同样计入当前方法
+            decorators.add(new RetryMetricsMethodHandlerDecorator(feignManager.getMetricsRegistry()));
+        }
+        if (hasCacheableMethod()) {
+            decorators.add(new ResponseCacheMethodHandlerDecorator(feignManager.getResponseCacheRegistry()));
+        }
+        if (executionMode == ExecutionEnum.VirtualThread) {
+            //位于异步包装内层，异步调用在虚拟线程中等待permit，不阻塞调用线程；同步调用最多等待读超时时间
+            decorators.add(new ConcurrencyGateMethodHandlerDecorator(maxConcurrentCalls, feignApiAttr.getReadTimeout()));
+        }
+        if (hasHedgedMethod()) {
+            //位于并发闸门外层，对冲请求同样需要获取permit
+            decorators.add(new HedgeMethodHandlerDecorator(feignManager.getHedgeRegistry(), resolveHedgeExecutor(),
+                    feignManager.getScheduler(), (long) FeignManager.DEFAULT_CONNECTION_TIMEOUT + feignApiAttr.getReadTimeout()));
+        }
+        if (feignApiAttr.isSingleFlight()) {
+            //位于并发闸门外层，等待合并结果的调用不占用permit
+            decorators.add(new SingleFlightMethodHandlerDecorator());
+        }
+        if (feignApiAttr.isCircuitBreaker() || feignApiAttr.getBulkhead() > 0) {
+            //位于重试、对冲及合并外层，熔断器统计的是一次完整调用的结果
+            decorators.add(buildCircuitBreakerDecorator());
+        }
+        if (hasCacheableMethod() && !hasCustomRequestInterceptor()) {
+            //位于熔断器外层，未过期的缓存直接返回，不占用permit、不计入熔断统计及重试预算
+            decorators.add(new FreshResponseMethodHandlerDecorator(feignManager.getResponseCacheRegistry(), resolveDecoder()));
+        }
+        if (feignManager.isMetricsEnabled()) {
+            decorators.add(new MetricsMethodHandlerDecorator(feignManager.getMetricsRegistry()));
+        }
+        if (hasAsyncMethod()) {
+            decorators.add(new AsyncMethodHandlerDecorator(resolveAsyncExecutor()));
+        }
+        if (resolveRateLimit() > 0 && resolveRateLimitMode() == RateLimitEnum.AsyncWait && hasAsyncMethod()) {
+            //位于异步包装外层，AsyncWait模式下预约令牌并等待，不占用线程，预约的令牌交给RateLimitingClient的第一次请求
+            decorators.add(new RateLimitMethodHandlerDecorator(resolveTokenBucket(), feignApiAttr.getRateLimitMaxWaitMillis(),
+                    feignManager.getScheduler()));
+        }
+        if (hasBatchMethod()) {
+            //位于最外层，合并后的批量调用经过内层全部包装
+            decorators.add(new BatchMethodHandlerDecorator(feignManager.getBatchRegistry(), resolveAsyncExecutor(),
+                    feignManager.getScheduler()));
+        }
+        return decorators;
+    }
+
+    /**
+     * 根据FeignApi注解构建熔断器及隔离舱，以接口名区分
+     *
+     * @return CircuitBreakerMethodHandlerDecorator
+     */
+    private CircuitBreakerMethodHandlerDecorator buildCircuitBreakerDecorator() {
+        CircuitBreakerRegistry registry = feignManager.getCircuitBreakerRegistry();
+        String name = targetProxyInterface.getName();
+        CircuitBreaker circuitBreaker = null;
+        if (feignApiAttr.isCircuitBreaker()) {
+            CircuitBreakerSettings settings = new CircuitBreakerSettings();
+            settings.setFailureRateThreshold(feignApiAttr.getFailureRateThreshold());
+            settings.setSlowCallRateThreshold(feignApiAttr.getSlowCallRateThreshold());
+            settings.setSlowCallMillis(feignApiAttr.getSlowCallMillis());
+            settings.setSlidingWindowSize(feignApiAttr.getSlidingWindowSize());
+            settings.setOpenMillis(feignApiAttr.getCircuitOpenMillis());
+            circuitBreaker = registry.getOrCreate(name, settings);
+        }
+        Bulkhead bulkhead = feignApiAttr.getBulkhead() > 0 ?
+                registry.getOrCreateBulkhead(name, feignApiAttr.getBulkhead(), feignApiAttr.getBulkheadWaitMillis()) : null;
+        Supplier<Object> fallback = null;
+        String fallbackName = feignApiAttr.getFallback();
+        if (StringUtils.isNotBlank(fallbackName)) {
+            //首次拒绝时再获取，避免fallback bean与FeignApi代理的创建顺序问题
+            fallback = SingletonSupplier.of(() -> {
+                Object bean = applicationContext.getBean(fallbackName);
+                Assert.isInstanceOf(targetProxyInterface, bean, "FeignApiFactoryBean fallback must implement FeignApi interface");
+                return bean;
+            });
+        }
+        return new CircuitBreakerMethodHandlerDecorator(circuitBreaker, bulkhead, fallback);
+    }
+
+    /**
+     * 获取每秒最多调用数，FeignApi注解为负数时继承FeignApiScan中的配置
+     */
+    private double resolveRateLimit() {
+        double apiRateLimit = feignApiAttr.getRateLimit();
+        return apiRateLimit < 0 ? rateLimit : apiRateLimit;
+    }
+
+    /**
+     * 获取令牌桶，共享时以逻辑地址的host区分令牌桶，否则以接口名区分
+     *
+     * @return TokenBucket
+     */
+    private TokenBucket resolveTokenBucket() {
+        double permitsPerSecond = resolveRateLimit();
+        int burst = feignApiAttr.getRateLimitBurst() > 0 ? feignApiAttr.getRateLimitBurst() : (int) Math.ceil(permitsPerSecond);
+        String name = targetProxyInterface.getName();
+        if (rateLimitShared || feignApiAttr.isRateLimitShared()) {
+            String url = resolveUrls().get(0);
+            name = Optional.ofNullable(URI.create(url).getAuthority()).orElse(url);
+        }
+        return feignManager.getRateLimiterRegistry().getOrCreate(name, permitsPerSecond, burst);
+    }
+
+    private RateLimitEnum resolveRateLimitMode() {
+        return feignApiAttr.getRateLimitMode() == RateLimitEnum.Inherit ? rateLimitMode : feignApiAttr.getRateLimitMode();
+    }
+
+    /**
+     * 接口中是否存在返回CompletableFuture的方法
+     */
+    private boolean hasAsyncMethod() {
+        for (Method method : targetProxyInterface.getMethods()) {
+            if (AsyncDecoder.isAsyncType(method.getReturnType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取异步方法使用的线程池，FeignApi注解未指定时根据执行模式使用FeignManager默认线程池或虚拟线程
+     *
+     * @return Executor
+     */
+    private Executor resolveAsyncExecutor() {
+        String asyncExecutor = feignApiAttr.getAsyncExecutor();
+        if (StringUtils.isBlank(asyncExecutor)) {
+            return executionMode == ExecutionEnum.VirtualThread ? feignManager.getVirtualThreadExecutor() : feignManager.getAsyncExecutor();
+        }
+        return applicationContext.getBean(asyncExecutor, Executor.class);
+    }
+
+    /**
+     * 获取对冲请求使用的线程池，不与异步方法共用，避免异步线程等待排在其后的对冲请求
+     *
+     * @return Executor
+     */
+    private Executor resolveHedgeExecutor() {
+        return executionMode == ExecutionEnum.VirtualThread ? feignManager.getVirtualThreadExecutor() : feignManager.getHedgeExecutor();
+    }
+
     /**
      * 添加拦截器，先从spring容器中寻找对于的拦截器实例如果没有自己创建
      *
@@ -100,17 +610,24 @@ public class FeignApiFactoryBean<T> implements FactoryBean<T>, InitializingBean,
     private void addHeaders(Feign.Builder feignBuilder) {
         HeaderAttr[] headerAttrs = feignApiAttr.getHeaders();
         if (Objects.nonNull(headerAttrs) && headerAttrs.length > 0) {
-            for (HeaderAttr headerAttr : headerAttrs) {
-                headerAttr.setValue(resolveValue(headerAttr.getValue()));
+            HeaderAttr[] resolved = new HeaderAttr[headerAttrs.length];
+            for (int i = 0; i < headerAttrs.length; i++) {
+                resolved[i] = new HeaderAttr(headerAttrs[i].getKey(), resolveValue(headerAttrs[i].getValue()));
             }
-            feignBuilder.requestInterceptor(template -> {
-                for (HeaderAttr headerAttr : headerAttrs) {
-                    template.header(headerAttr.getKey(), headerAttr.getValue());
-                }
-            });
+            feignBuilder.requestInterceptor(feignManager.getHeadersInterceptor(resolved));
         }
     }
 
+    /**
+     * 解析客户端类型，FeignApi注解未指定时使用FeignApiScan中的配置
+     *
+     * @return 客户端类型
+     */
+    private ClientEnum resolveClientType() {
+        ClientEnum apiClientType = feignApiAttr.getClientType();
+        return Objects.isNull(apiClientType) || apiClientType == ClientEnum.Inherit ? clientType : apiClientType;
+    }
+
     /**
      * 解析value值（${header.value}从environment中获取）
      *
@@ -30,6 +30,22 @@ public @interface FeignApiScan {
 
     String LOGGER_TYPE="loggerType";
 
+    String CLIENT_TYPE="clientType";
+
+    String EXECUTION_MODE="executionMode";
+
+    String MAX_CONCURRENT_CALLS="maxConcurrentCalls";
+
+    String LAZY="lazy";
+
+    String LIVE_CONFIG="liveConfig";
+
+    String RATE_LIMIT="rateLimit";
+
+    String RATE_LIMIT_MODE="rateLimitMode";
+
+    String RATE_LIMIT_SHARED="rateLimitShared";
+
 
     /**
      * 扫描的包名
@@ -55,4 +71,44 @@ public @interface FeignApiScan {
     String feignManagerDef() default FeignManager.DEFAULT_FEIGN_MANAGER_DEF;
 
     LoggerEnum loggerType() default LoggerEnum.NoOpLogger;
+
+    /**
+     * 客户端类型，FeignApi未单独指定时使用
+     */
+    ClientEnum clientType() default ClientEnum.Default;
+
+    /**
+     * 执行模式
+     */
+    ExecutionEnum executionMode() default ExecutionEnum.Platform;
+
+    /**
+     * VirtualThread模式下单个FeignApi最大并发调用数
+     */
+    int maxConcurrentCalls() default FeignManager.DEFAULT_MAX_CONCURRENT_CALLS;
+
+    /**
+     * 是否延迟创建所有FeignClient，首次调用时才构建
+     */
+    boolean lazy() default false;
+
+    /**
+     * 是否对所有FeignApi开启可热更新配置
+     */
+    boolean liveConfig() default false;
+
+    /**
+     * FeignApi未单独指定时每秒最多发起的调用数，0表示不限流，每个FeignApi单独计数
+     */
+    double rateLimit() default 0D;
+
+    /**
+     * 令牌不足时的处理方式，FeignApi未单独指定时使用
+     */
+    RateLimitEnum rateLimitMode() default RateLimitEnum.Block;
+
+    /**
+     * 是否按下游host共享令牌桶
+     */
+    boolean rateLimitShared() default false;
 }
@@ -48,11 +48,40 @@ public class FeignApiScannerRegistrar implements ImportBeanDefinitionRegistrar {
         LoggerEnum loggerType = feignApiScanAttributes.getEnum(FeignApiScan.LOGGER_TYPE);
         log.debug(LOGGER_PREFIX + ",loggerType:{}", loggerType);
 
+        ClientEnum clientType = feignApiScanAttributes.getEnum(FeignApiScan.CLIENT_TYPE);
+        Assert.isTrue(clientType != ClientEnum.Inherit, "FeignApiScan clientType could not be Inherit");
+        log.debug(LOGGER_PREFIX + ",clientType:{}", clientType);
+
+        ExecutionEnum executionMode = feignApiScanAttributes.getEnum(FeignApiScan.EXECUTION_MODE);
+        int maxConcurrentCalls = feignApiScanAttributes.getNumber(FeignApiScan.MAX_CONCURRENT_CALLS);
+        Assert.isTrue(maxConcurrentCalls > 0, "FeignApiScan maxConcurrentCalls must be greater than 0");
+        log.debug(LOGGER_PREFIX + ",executionMode:{},maxConcurrentCalls:{}", executionMode, maxConcurrentCalls);
+
+        boolean lazy = feignApiScanAttributes.getBoolean(FeignApiScan.LAZY);
+        log.debug(LOGGER_PREFIX + ",lazy:{}", lazy);
+
+        boolean liveConfig = feignApiScanAttributes.getBoolean(FeignApiScan.LIVE_CONFIG);
+        log.debug(LOGGER_PREFIX + ",liveConfig:{}", liveConfig);
+
+        double rateLimit = feignApiScanAttributes.getNumber(FeignApiScan.RATE_LIMIT);
+        Assert.isTrue(rateLimit >= 0, "FeignApiScan rateLimit could not be negative");
+        RateLimitEnum rateLimitMode = feignApiScanAttributes.getEnum(FeignApiScan.RATE_LIMIT_MODE);
+        Assert.isTrue(rateLimitMode != RateLimitEnum.Inherit, "FeignApiScan rateLimitMode could not be Inherit");
+        boolean rateLimitShared = feignApiScanAttributes.getBoolean(FeignApiScan.RATE_LIMIT_SHARED);
+        log.debug(LOGGER_PREFIX + ",rateLimit:{},rateLimitMode:{},rateLimitShared:{}", rateLimit, rateLimitMode, rateLimitShared);
 
         ClassPathFeignApiScanner scanner = new ClassPathFeignApiScanner(registry);
         scanner.setTargetFactoryBeanClass(targetFactoryBeanClass);
         scanner.setFeignManagerBeanName(feignManagerDef);
         scanner.setLoggerType(loggerType);
+        scanner.setClientType(clientType);
+        scanner.setExecutionMode(executionMode);
+        scanner.setMaxConcurrentCalls(maxConcurrentCalls);
+        scanner.setLazy(lazy);
+        scanner.setLiveConfig(liveConfig);
+        scanner.setRateLimit(rateLimit);
+        scanner.setRateLimitMode(rateLimitMode);
+        scanner.setRateLimitShared(rateLimitShared);
         log.debug(LOGGER_PREFIX + ",scanner FeignApi size:{}", Optional.ofNullable(scanner.doScan(basePackages)).map(Set::size).orElse(0));
     }
 
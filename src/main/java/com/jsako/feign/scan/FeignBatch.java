@@ -0,0 +1,33 @@
+package com.jsako.feign.scan;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @Date 2019/7/26
+ * @Author LLJ
+ * @Description 开启单条查询的批量合并，标注在只有一个参数的FeignApi方法上
+ * 调用在windowMillis内或累计maxSize个不同参数后合并为一次bulkMethod调用，结果按参数分发给各调用方
+ * bulkMethod需在同一接口中，参数为参数集合(List/Set/Collection)，返回与参数顺序一致的List或以参数为key的Map
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface FeignBatch {
+
+    /**
+     * 批量方法名
+     */
+    String bulkMethod();
+
+    /**
+     * 每批最多合并的不同参数个数，达到后立即发送
+     */
+    int maxSize() default 100;
+
+    /**
+     * 第一个调用进入后最多等待的时间，毫秒
+     */
+    long windowMillis() default 10L;
+}
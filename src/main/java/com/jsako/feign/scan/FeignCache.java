@@ -0,0 +1,27 @@
+package com.jsako.feign.scan;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @Date 2019/6/28
+ * @Author LLJ
+ * @Description 开启GET方法的响应缓存，标注在FeignApi接口上时对所有GET方法生效，方法上的配置优先
+ * 响应带Cache-Control: max-age时以max-age为准，no-store不缓存；过期后若有ETag/Last-Modified则发起条件请求校验
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface FeignCache {
+
+    /**
+     * 响应未指定max-age时的缓存时间，毫秒
+     */
+    long ttlMillis() default 60000L;
+
+    /**
+     * 最大缓存条目数，超过后淘汰最久未使用的条目(LRU)
+     */
+    int maxSize() default 1000;
+}
@@ -0,0 +1,37 @@
+package com.jsako.feign.scan;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @Date 2019/7/10
+ * @Author LLJ
+ * @Description 开启对冲请求，请求在delay内未返回时再发送一次相同请求，先成功返回的结果生效，另一个请求被取消或丢弃
+ * 只对幂等方法(GET、HEAD、PUT、DELETE等)生效，标注在FeignApi接口上时对所有幂等方法生效，方法上的配置优先
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface FeignHedge {
+
+    /**
+     * 发送对冲请求前的等待时间，毫秒；小于0时使用观测到的percentile延迟
+     */
+    long delayMillis() default -1L;
+
+    /**
+     * delayMillis小于0时使用的延迟百分位
+     */
+    double percentile() default 95.0D;
+
+    /**
+     * 使用观测延迟时的最小等待时间，毫秒
+     */
+    long minDelayMillis() default 5L;
+
+    /**
+     * 对冲预算，对冲请求数不超过请求数的百分比，防止下游整体变慢时请求量翻倍
+     */
+    int budgetPercent() default 10;
+}
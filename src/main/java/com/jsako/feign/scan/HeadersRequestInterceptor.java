@@ -0,0 +1,32 @@
+package com.jsako.feign.scan;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * @Date 2019/6/26
+ * @Author LLJ
+ * @Description 添加固定请求头的拦截器，header在创建时已解析完成，不可变，可在FeignApi间共享
+ */
+public class HeadersRequestInterceptor implements RequestInterceptor {
+
+    private final String[] keys;
+
+    private final String[] values;
+
+    public HeadersRequestInterceptor(HeaderAttr[] headers) {
+        keys = new String[headers.length];
+        values = new String[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            keys[i] = headers[i].getKey();
+            values[i] = headers[i].getValue();
+        }
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        for (int i = 0; i < keys.length; i++) {
+            template.header(keys[i], values[i]);
+        }
+    }
+}
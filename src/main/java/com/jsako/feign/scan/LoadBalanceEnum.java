@@ -0,0 +1,15 @@
+package com.jsako.feign.scan;
+
+/**
+ * @Date 2019/7/3
+ * @Author LLJ
+ * @Description
+ */
+public enum LoadBalanceEnum {
+    /**
+     * RoundRobin 轮询
+     * LeastInFlight 选择当前进行中请求最少的节点
+     * PowerOfTwoChoices 随机选两个节点，取延迟(EWMA)与进行中请求综合代价较小的
+     */
+    RoundRobin, LeastInFlight, PowerOfTwoChoices
+}
@@ -9,6 +9,7 @@ public enum LoggerEnum {
     /**
      * JavaLogger java日志器
      * NoOpLogger 相当于无日志器
+     * SampledLogger 采样异步日志器，只记录采样命中、出错及慢调用，需配合logLevel使用
      */
-    JavaLogger,NoOpLogger,ErrorLogger
+    JavaLogger,NoOpLogger,ErrorLogger,SampledLogger
 }
@@ -0,0 +1,16 @@
+package com.jsako.feign.scan;
+
+/**
+ * @Date 2019/7/29
+ * @Author LLJ
+ * @Description 令牌不足时的处理方式
+ */
+public enum RateLimitEnum {
+    /**
+     * Block 阻塞调用线程直到获得令牌，等待超过rateLimitMaxWaitMillis时拒绝
+     * FailFast 令牌不足时直接抛出RateLimitExceededException
+     * AsyncWait 返回CompletableFuture的方法不占用线程，到达令牌时间后再发起调用；同步方法同Block
+     * Inherit 继承FeignApiScan中的配置
+     */
+    Block, FailFast, AsyncWait, Inherit
+}
@@ -0,0 +1,111 @@
+package com.jsako.feign.singleflight;
+
+import com.jsako.feign.async.AsyncDecoder;
+import com.jsako.feign.invocation.MethodHandlerDecorator;
+import com.jsako.feign.stream.StreamingDecoder;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.RequestLine;
+import feign.Response;
+import feign.Target;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * @Date 2019/7/1
+ * @Author LLJ
+ * @Description 请求合并(single-flight)，同一方法参数相同的并发调用只发起一次HTTP请求，其余调用等待并共享解码后的结果
+ * 只对GET/HEAD方法生效；结果对象在调用方之间共享，返回可变对象(如List、Map、普通JavaBean)时任一调用方的修改对其它调用方可见，
+ * 调用方不应修改返回值，需要修改时先复制；只能消费一次的返回值(Stream、Iterator、InputStream、Response)不合并
+ */
+public class SingleFlightMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        //流式返回值及Response的body只能被一个调用方消费，不能合并
+        if (!isIdempotent(method) || isSingleUseType(method.getGenericReturnType())) {
+            return handler;
+        }
+        ConcurrentMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+        return argv -> {
+            FlightKey key = new FlightKey(argv);
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                try {
+                    return existing.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+            try {
+                Object result = handler.invoke(argv);
+                flight.complete(result);
+                return result;
+            } catch (Throwable e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        };
+    }
+
+    private static boolean isSingleUseType(Type type) {
+        if (StreamingDecoder.isStreamingType(type)) {
+            return true;
+        }
+        if (type instanceof ParameterizedType && AsyncDecoder.isAsyncType((Class<?>) ((ParameterizedType) type).getRawType())) {
+            type = ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        return rawType == Response.class;
+    }
+
+    private static boolean isIdempotent(Method method) {
+        RequestLine requestLine = method.getAnnotation(RequestLine.class);
+        if (requestLine == null) {
+            return false;
+        }
+        String line = requestLine.value().trim();
+        return line.startsWith("GET ") || line.startsWith("HEAD ");
+    }
+
+    /**
+     * 以参数数组为key，hash在构造时计算一次
+     */
+    private static final class FlightKey {
+
+        private final Object[] args;
+
+        private final int hash;
+
+        FlightKey(Object[] args) {
+            this.args = args;
+            this.hash = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FlightKey)) {
+                return false;
+            }
+            FlightKey other = (FlightKey) o;
+            return hash == other.hash && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
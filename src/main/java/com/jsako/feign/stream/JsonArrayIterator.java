@@ -0,0 +1,87 @@
+package com.jsako.feign.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import feign.Response;
+import feign.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * @Date 2019/7/15
+ * @Author LLJ
+ * @Description 从响应流中逐个解码JSON数组元素，内存中只保留当前元素
+ * 数组读取完毕、解码出错或调用close时关闭响应并释放连接
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final Response response;
+
+    private final JsonParser parser;
+
+    private final ObjectReader reader;
+
+    private boolean closed;
+
+    private boolean fetched;
+
+    private T next;
+
+    JsonArrayIterator(Response response, JsonParser parser, ObjectReader reader) {
+        this.response = response;
+        this.parser = parser;
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (fetched) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                close();
+                return false;
+            }
+            next = reader.readValue(parser);
+            fetched = true;
+            return true;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T value = next;
+        next = null;
+        fetched = false;
+        return value;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Util.ensureClosed(parser);
+        Util.ensureClosed(response);
+    }
+}
@@ -0,0 +1,144 @@
+package com.jsako.feign.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsako.feign.async.AsyncDecoder;
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @Date 2019/7/15
+ * @Author LLJ
+ * @Description 方法返回Stream&lt;T&gt;、Iterator&lt;T&gt;时从响应流中逐个解码JSON数组元素，返回InputStream时直接返回响应流
+ * 这些类型的响应由调用方关闭(Stream.close、JsonArrayIterator.close、InputStream.close，或读取完毕)后才释放连接
+ * 需配合Feign.Builder.doNotCloseAfterDecode使用，其余类型交给delegate解码后立即关闭响应
+ */
+public class StreamingDecoder implements Decoder {
+
+    private final ObjectMapper objectMapper;
+
+    private final Decoder delegate;
+
+    public StreamingDecoder(ObjectMapper objectMapper, Decoder delegate) {
+        Assert.notNull(objectMapper, "StreamingDecoder objectMapper could not be null");
+        Assert.notNull(delegate, "StreamingDecoder delegate could not be null");
+        this.objectMapper = objectMapper;
+        this.delegate = delegate;
+    }
+
+    /**
+     * 方法返回值是否为流式类型，CompletableFuture&lt;T&gt;按T判断
+     *
+     * @param type 方法返回值类型
+     * @return true 是
+     */
+    public static boolean isStreamingType(Type type) {
+        Class<?> rawType = rawTypeOf(type);
+        if (AsyncDecoder.isAsyncType(rawType) && type instanceof ParameterizedType) {
+            rawType = rawTypeOf(((ParameterizedType) type).getActualTypeArguments()[0]);
+        }
+        return rawType == Stream.class || rawType == Iterator.class || rawType == InputStream.class;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        Class<?> rawType = rawTypeOf(type);
+        if (rawType == InputStream.class) {
+            return decodeInputStream(response);
+        }
+        if (rawType == Stream.class || rawType == Iterator.class) {
+            Iterator<?> iterator = decodeIterator(response, elementTypeOf(type));
+            return rawType == Iterator.class ? iterator : toStream(iterator);
+        }
+        try {
+            return delegate.decode(response, type);
+        } finally {
+            Util.ensureClosed(response);
+        }
+    }
+
+    private InputStream decodeInputStream(Response response) throws IOException {
+        if (response.body() == null) {
+            Util.ensureClosed(response);
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        return new FilterInputStream(response.body().asInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    Util.ensureClosed(response);
+                }
+            }
+        };
+    }
+
+    private Iterator<?> decodeIterator(Response response, Type elementType) throws IOException {
+        if (response.status() == 404 || response.body() == null) {
+            Util.ensureClosed(response);
+            return Collections.emptyIterator();
+        }
+        JsonParser parser = null;
+        try {
+            parser = objectMapper.getFactory().createParser(response.body().asInputStream());
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                Util.ensureClosed(parser);
+                Util.ensureClosed(response);
+                return Collections.emptyIterator();
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new DecodeException("StreamingDecoder expect JSON array but was " + token);
+            }
+            return new JsonArrayIterator<>(response, parser, objectMapper.readerFor(objectMapper.constructType(elementType)));
+        } catch (IOException | RuntimeException e) {
+            Util.ensureClosed(parser);
+            Util.ensureClosed(response);
+            throw e;
+        }
+    }
+
+    private static Stream<?> toStream(Iterator<?> iterator) {
+        Stream<?> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+        if (iterator instanceof JsonArrayIterator) {
+            return stream.onClose(((JsonArrayIterator<?>) iterator)::close);
+        }
+        return stream;
+    }
+
+    private static Type elementTypeOf(Type type) {
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    private static Class<?> rawTypeOf(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class;
+    }
+}
@@ -0,0 +1,220 @@
+package com.jsako.feign.warmup;
+
+import com.jsako.feign.client.DnsCache;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @Date 2019/8/5
+ * @Author LLJ
+ * @Description 分三个阶段预热FeignApi：解析并缓存所有节点的DNS；对每个节点并发发送HEAD请求建立连接池连接；调用声明的健康检查方法
+ * 各阶段内并行执行，使用临时线程池，预热结束后关闭
+ */
+@Slf4j
+public class FeignWarmer {
+
+    private static final int MAX_THREADS = 64;
+
+    private final WarmupProperties properties;
+
+    private final DnsCache dnsCache;
+
+    /**
+     * @param properties 预热配置
+     * @param dnsCache   DNS缓存，为null时只预热JVM的DNS缓存
+     */
+    public FeignWarmer(WarmupProperties properties, DnsCache dnsCache) {
+        this.properties = properties;
+        this.dnsCache = dnsCache;
+    }
+
+    public WarmupReport warmUp(Collection<WarmupTarget> targets) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMillis());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("feign-warmup-");
+        threadFactory.setDaemon(true);
+        int connections = Math.max(1, properties.getConnections());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(MAX_THREADS, targets.size() * connections)), threadFactory);
+        Map<WarmupTarget, WarmupReport.Result> results = new LinkedHashMap<>();
+        Map<WarmupTarget, List<String>> endpoints = new LinkedHashMap<>();
+        try {
+            for (WarmupTarget target : targets) {
+                WarmupReport.Result result = new WarmupReport.Result();
+                result.setName(target.getName());
+                results.put(target, result);
+                try {
+                    endpoints.put(target, target.getEndpoints().get());
+                } catch (RuntimeException e) {
+                    endpoints.put(target, Collections.emptyList());
+                    result.setError("endpoints:" + e.getMessage());
+                }
+                result.setEndpoints(endpoints.get(target).size());
+            }
+            resolveDns(endpoints, results, executor, deadline);
+            openConnections(endpoints, results, connections, executor, deadline);
+            checkHealth(results, executor, deadline);
+        } finally {
+            executor.shutdownNow();
+        }
+        WarmupReport report = new WarmupReport();
+        report.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        report.setResults(new ArrayList<>(results.values()));
+        return report;
+    }
+
+    private void resolveDns(Map<WarmupTarget, List<String>> endpoints, Map<WarmupTarget, WarmupReport.Result> results,
+                            ExecutorService executor, long deadline) {
+        Map<WarmupTarget, List<CompletableFuture<Long>>> futures = new LinkedHashMap<>();
+        for (Map.Entry<WarmupTarget, List<String>> entry : endpoints.entrySet()) {
+            List<CompletableFuture<Long>> targetFutures = new ArrayList<>();
+            for (String url : entry.getValue()) {
+                targetFutures.add(CompletableFuture.supplyAsync(timed(() -> {
+                    String host = URI.create(url).getHost();
+                    if (host == null) {
+                        throw new IllegalArgumentException("no host in url " + url);
+                    }
+                    if (dnsCache != null) {
+                        dnsCache.resolve(host);
+                    } else {
+                        InetAddress.getAllByName(host);
+                    }
+                    return null;
+                }), executor));
+            }
+            futures.put(entry.getKey(), targetFutures);
+        }
+        for (Map.Entry<WarmupTarget, List<CompletableFuture<Long>>> entry : futures.entrySet()) {
+            WarmupReport.Result result = results.get(entry.getKey());
+            for (CompletableFuture<Long> future : entry.getValue()) {
+                Long millis = await(future, deadline, result, "dns");
+                if (millis != null) {
+                    result.setDnsMillis(Math.max(result.getDnsMillis(), millis));
+                }
+            }
+        }
+    }
+
+    private void openConnections(Map<WarmupTarget, List<String>> endpoints, Map<WarmupTarget, WarmupReport.Result> results,
+                                 int connections, ExecutorService executor, long deadline) {
+        int timeout = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, properties.getTimeoutMillis()));
+        Request.Options options = new Request.Options(timeout, timeout);
+        Map<WarmupTarget, List<CompletableFuture<Long>>> futures = new LinkedHashMap<>();
+        for (Map.Entry<WarmupTarget, List<String>> entry : endpoints.entrySet()) {
+            WarmupTarget target = entry.getKey();
+            List<CompletableFuture<Long>> targetFutures = new ArrayList<>();
+            for (String url : entry.getValue()) {
+                //同一节点的请求并发发送，才会建立多个连接
+                for (int i = 0; i < connections; i++) {
+                    targetFutures.add(CompletableFuture.supplyAsync(timed(() -> {
+                        Request request = Request.create("HEAD", url, Collections.emptyMap(), null, StandardCharsets.UTF_8);
+                        Response response = target.getClient().execute(request, options);
+                        response.close();
+                        return null;
+                    }), executor));
+                }
+            }
+            futures.put(target, targetFutures);
+        }
+        for (Map.Entry<WarmupTarget, List<CompletableFuture<Long>>> entry : futures.entrySet()) {
+            WarmupReport.Result result = results.get(entry.getKey());
+            for (CompletableFuture<Long> future : entry.getValue()) {
+                Long millis = await(future, deadline, result, "connect");
+                if (millis != null) {
+                    result.setConnections(result.getConnections() + 1);
+                    result.setConnectMillis(Math.max(result.getConnectMillis(), millis));
+                }
+            }
+        }
+    }
+
+    private void checkHealth(Map<WarmupTarget, WarmupReport.Result> results, ExecutorService executor, long deadline) {
+        Map<WarmupTarget, CompletableFuture<Long>> futures = new LinkedHashMap<>();
+        for (WarmupTarget target : results.keySet()) {
+            if (target.getHealthMethod() != null) {
+                futures.put(target, CompletableFuture.supplyAsync(timed(() -> {
+                    try {
+                        return target.getHealthMethod().invoke(target.getProxy());
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }), executor));
+            }
+        }
+        for (Map.Entry<WarmupTarget, CompletableFuture<Long>> entry : futures.entrySet()) {
+            WarmupReport.Result result = results.get(entry.getKey());
+            Long millis = await(entry.getValue(), deadline, result, "health");
+            result.setHealthy(millis != null);
+            result.setHealthMillis(millis == null ? 0L : millis);
+        }
+    }
+
+    private static Long await(CompletableFuture<Long> future, long deadline, WarmupReport.Result result, String step) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            recordError(result, step, e);
+        } catch (Exception e) {
+            future.cancel(true);
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            recordError(result, step, cause instanceof WarmupException ? cause.getCause() : cause);
+        }
+        return null;
+    }
+
+    private static void recordError(WarmupReport.Result result, String step, Throwable e) {
+        log.debug("FeignWarmer warmUp,{} failed,name:{}", step, result.getName(), e);
+        if (result.getError() == null) {
+            result.setError(step + ":" + e);
+        }
+    }
+
+    /**
+     * 包装预热步骤，返回耗时毫秒
+     */
+    private static Supplier<Long> timed(Step step) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                step.run();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new WarmupException(e);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        };
+    }
+
+    private interface Step {
+        Object run() throws Exception;
+    }
+
+    /**
+     * 包装预热步骤的受检异常，记录原因时取cause
+     */
+    private static class WarmupException extends RuntimeException {
+        private WarmupException(Exception cause) {
+            super(cause.toString(), cause, false, false);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jsako.feign.warmup;
+
+import lombok.Data;
+
+/**
+ * @Date 2019/8/5
+ * @Author LLJ
+ * @Description 启动预热配置，对应配置前缀 feign.scan.warmup
+ */
+@Data
+public class WarmupProperties {
+
+    /**
+     * 是否在容器刷新完成后预热所有已创建的FeignApi
+     */
+    private boolean enabled = false;
+
+    /**
+     * 每个节点预先建立的连接数，通过并发HEAD请求建立并放回连接池
+     */
+    private int connections = 2;
+
+    /**
+     * 预热总超时，超时后未完成的步骤记为失败，启动继续，毫秒
+     */
+    private long timeoutMillis = 10000L;
+
+    /**
+     * 开启预热时ApacheHttpClient及Http2客户端的DNS缓存时间，0表示不缓存，毫秒
+     */
+    private long dnsCacheTtlMillis = 60000L;
+}
@@ -0,0 +1,54 @@
+package com.jsako.feign.warmup;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Date 2019/8/5
+ * @Author LLJ
+ * @Description 预热结果
+ */
+@Data
+public class WarmupReport {
+
+    private long totalMillis;
+
+    private List<Result> results = new ArrayList<>();
+
+    @Data
+    public static class Result {
+
+        private String name;
+
+        private int endpoints;
+
+        /**
+         * 各节点DNS解析的最长耗时
+         */
+        private long dnsMillis;
+
+        /**
+         * 成功的预热请求数，即建立的连接数
+         */
+        private int connections;
+
+        /**
+         * 预热请求的最长耗时，含TCP连接及TLS握手
+         */
+        private long connectMillis;
+
+        /**
+         * 健康检查是否成功，未声明健康检查方法时为null
+         */
+        private Boolean healthy;
+
+        private long healthMillis;
+
+        /**
+         * 第一个失败原因
+         */
+        private String error;
+    }
+}
@@ -0,0 +1,44 @@
+package com.jsako.feign.warmup;
+
+import feign.Client;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * @Date 2019/8/5
+ * @Author LLJ
+ * @Description 需要预热的FeignApi
+ */
+@Getter
+@AllArgsConstructor
+public class WarmupTarget {
+
+    /**
+     * FeignApi接口名
+     */
+    private final String name;
+
+    /**
+     * 节点地址，预热时获取，节点组可能在启动后期才就绪
+     */
+    private final Supplier<List<String>> endpoints;
+
+    /**
+     * FeignApi使用的底层客户端，预热请求不经过负载均衡、压缩及缓存
+     */
+    private final Client client;
+
+    /**
+     * FeignApi代理
+     */
+    private final Object proxy;
+
+    /**
+     * 健康检查方法，未声明时为null
+     */
+    private final Method healthMethod;
+}